@@ -0,0 +1,129 @@
+package com.dimitrioskanellopoulos.athletica.benchmark;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+
+import com.dimitrioskanellopoulos.athletica.grid.Grid;
+import com.dimitrioskanellopoulos.athletica.grid.columns.AmPmColumn;
+import com.dimitrioskanellopoulos.athletica.grid.columns.BatteryLevelColumn;
+import com.dimitrioskanellopoulos.athletica.grid.columns.Column;
+import com.dimitrioskanellopoulos.athletica.grid.columns.DateColumn;
+import com.dimitrioskanellopoulos.athletica.grid.columns.IconColumn;
+import com.dimitrioskanellopoulos.athletica.grid.columns.TimeColumn;
+import com.dimitrioskanellopoulos.athletica.grid.rows.Row;
+import com.dimitrioskanellopoulos.athletica.grid.styles.StyleRegistry;
+
+/**
+ * Grids shaped like the ones WatchFace builds. Columns that need Google Play Services, the
+ * location or the resources are replaced by plain columns with the same kind of text
+ */
+final class Faces {
+    static final int FACE_SIZE = 320;
+
+    /**
+     * The time, the date and the battery. What the face starts with
+     */
+    static final String TIME_DATE_BATTERY = "TIME_DATE_BATTERY";
+    /**
+     * Everything: sunrise and sunset, Google Fit steps and a sensor
+     */
+    static final String FULL = "FULL";
+
+    private static final Context CONTEXT = new ContextWrapper(null);
+
+    private Faces() {
+    }
+
+    static Grid createGrid(String face) {
+        Grid grid = new Grid();
+        addRowForTime(grid);
+        addRowForDate(grid);
+        addRowForBattery(grid);
+        if (FULL.equals(face)) {
+            addRowForSunriseSunset(grid);
+            addRowForGoogleFit(grid);
+            addRowForSensor(grid);
+        }
+        grid.setInAmbientMode(false);
+        return grid;
+    }
+
+    static TimeColumn createTimeColumn(StyleRegistry styleRegistry) {
+        TimeColumn timeColumn = new TimeColumn(CONTEXT, styleRegistry, null, 102f);
+        timeColumn.setBaseline(Column.BASELINE_ABSOLUTE_CENTER);
+        return timeColumn;
+    }
+
+    private static void addRowForTime(Grid grid) {
+        StyleRegistry styleRegistry = grid.getStyleRegistry();
+        Row timeRow = new Row();
+        timeRow.setIsDynamic(true);
+        timeRow.putColumn("timeColumn", createTimeColumn(styleRegistry));
+        AmPmColumn amPmColumn = new AmPmColumn(CONTEXT, styleRegistry, null, 26f, true, false);
+        amPmColumn.setBaseline(Column.BASELINE_PREVIOUS);
+        timeRow.putColumn("amPmColumn", amPmColumn);
+        grid.putRow("1_timeRow", timeRow);
+    }
+
+    private static void addRowForDate(Grid grid) {
+        StyleRegistry styleRegistry = grid.getStyleRegistry();
+        Row dateRow = new Row();
+        dateRow.putColumn("dateColumn", new DateColumn(CONTEXT, styleRegistry, null, 40f, true, false));
+        grid.putRow("2_dateRow", dateRow);
+    }
+
+    private static void addRowForSunriseSunset(Grid grid) {
+        StyleRegistry styleRegistry = grid.getStyleRegistry();
+        Row sunriseSunsetRow = new Row();
+        sunriseSunsetRow.putColumn("sunriseIconColumn", createIconColumn(styleRegistry, "\uE3AA", 28f, 4f));
+        sunriseSunsetRow.putColumn("sunriseColumn", createColumn(styleRegistry, "06:42", 34f, 16f));
+        sunriseSunsetRow.putColumn("sunsetIconColumn", createIconColumn(styleRegistry, "\uF186", 28f, 4f));
+        sunriseSunsetRow.putColumn("sunsetColumn", createColumn(styleRegistry, "19:17", 34f, 0f));
+        grid.putRow("3_sunriseSunsetRow", sunriseSunsetRow);
+    }
+
+    private static void addRowForGoogleFit(Grid grid) {
+        StyleRegistry styleRegistry = grid.getStyleRegistry();
+        Row googleFitRow = new Row();
+        googleFitRow.putColumn("googleFitStepsColumnIcon", createIconColumn(styleRegistry, "\uE536", 28f, 0f));
+        googleFitRow.putColumn("googleFitStepsColumn", createColumn(styleRegistry, "8421", 30f, 4f));
+        Column googleFitStepsUnitsColumn = createColumn(styleRegistry, "steps", 24f, 0f);
+        googleFitStepsUnitsColumn.setBaseline(Column.BASELINE_PREVIOUS);
+        googleFitRow.putColumn("googleFitStepsUnitsColumn", googleFitStepsUnitsColumn);
+        grid.putRow("4_googleFitRow", googleFitRow);
+    }
+
+    private static void addRowForSensor(Grid grid) {
+        StyleRegistry styleRegistry = grid.getStyleRegistry();
+        Row sensorsRow = new Row();
+        sensorsRow.putColumn("heartRateIcon", createIconColumn(styleRegistry, "\uF21E", 28f, 4f));
+        sensorsRow.putColumn("heartRate", createColumn(styleRegistry, "72", 30f, 4f));
+        Column unitsColumn = createColumn(styleRegistry, "bpm", 24f, 0f);
+        unitsColumn.setBaseline(Column.BASELINE_PREVIOUS);
+        sensorsRow.putColumn("heartRateUnits", unitsColumn);
+        grid.putRow("5_sensorsRow", sensorsRow);
+    }
+
+    private static void addRowForBattery(Grid grid) {
+        StyleRegistry styleRegistry = grid.getStyleRegistry();
+        Row batteryRow = new Row();
+        batteryRow.putColumn("batteryIconColumn", createIconColumn(styleRegistry, "\uF240", 24f, 4f));
+        BatteryLevelColumn batteryLevelColumn = new BatteryLevelColumn(CONTEXT, styleRegistry, null, 24f, true, false);
+        batteryLevelColumn.setBaseline(Column.BASELINE_PREVIOUS);
+        batteryRow.putColumn("batteryLevelColumn", batteryLevelColumn);
+        grid.putRow("6_batteryRow", batteryRow);
+    }
+
+    private static Column createIconColumn(StyleRegistry styleRegistry, String icon, float textSize, float horizontalMargin) {
+        Column column = new IconColumn(CONTEXT, styleRegistry, null, textSize, icon);
+        column.setHorizontalMargin(horizontalMargin);
+        return column;
+    }
+
+    private static Column createColumn(StyleRegistry styleRegistry, String text, float textSize, float horizontalMargin) {
+        Column column = new Column(CONTEXT, styleRegistry, null, textSize);
+        column.setText(text);
+        column.setHorizontalMargin(horizontalMargin);
+        return column;
+    }
+}
@@ -0,0 +1,72 @@
+package com.dimitrioskanellopoulos.athletica.benchmark;
+
+import android.graphics.Color;
+
+import com.dimitrioskanellopoulos.athletica.grid.Grid;
+import com.dimitrioskanellopoulos.athletica.grid.columns.TimeColumn;
+import com.dimitrioskanellopoulos.athletica.grid.rows.Row;
+import com.dimitrioskanellopoulos.athletica.grid.targets.RecordingRenderTarget;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The pieces of the grid that run on every frame or on every broadcast
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GridBenchmark {
+    private Grid grid;
+    private Row sunriseSunsetRow;
+    private TimeColumn timeColumn;
+    private RecordingRenderTarget target;
+    private boolean isWhite = true;
+
+    @Setup
+    public void setUp() {
+        grid = Faces.createGrid(Faces.FULL);
+        sunriseSunsetRow = grid.getRow("3_sunriseSunsetRow");
+        timeColumn = Faces.createTimeColumn(grid.getStyleRegistry());
+        target = new RecordingRenderTarget(Faces.FACE_SIZE, Faces.FACE_SIZE);
+    }
+
+    @Benchmark
+    public float rowGetColumnsTotalWidth() {
+        return sunriseSunsetRow.getColumnsTotalWidth();
+    }
+
+    /**
+     * Alternates the color so every call really changes all the columns
+     */
+    @Benchmark
+    public void gridSetTextColor() {
+        isWhite = !isWhite;
+        grid.setTextColor(isWhite ? Color.WHITE : Color.BLACK);
+    }
+
+    /**
+     * Still allocates the String, for the callers that want one
+     */
+    @Benchmark
+    public String timeColumnGetText() {
+        return timeColumn.getText();
+    }
+
+    /**
+     * Formats the time and blits it, which is what every interactive frame does
+     */
+    @Benchmark
+    public void timeColumnDraw() {
+        timeColumn.draw(target, 0f, 0f);
+    }
+}
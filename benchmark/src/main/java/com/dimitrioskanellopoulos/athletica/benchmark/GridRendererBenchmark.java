@@ -0,0 +1,58 @@
+package com.dimitrioskanellopoulos.athletica.benchmark;
+
+import android.graphics.Rect;
+
+import com.dimitrioskanellopoulos.athletica.grid.Grid;
+import com.dimitrioskanellopoulos.athletica.grid.GridRenderer;
+import com.dimitrioskanellopoulos.athletica.grid.targets.RecordingRenderTarget;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A whole frame of the grid rendered into a recording target, so it measures the layout, the
+ * bookkeeping and the columns producing their text but not the rasterization. Text measurement
+ * is stubbed out too, see the build file
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GridRendererBenchmark {
+    @Param({Faces.TIME_DATE_BATTERY, Faces.FULL})
+    public String face;
+
+    @Param({"DIRECT", "LAYERED"})
+    public String mode;
+
+    private Grid grid;
+    private GridRenderer gridRenderer;
+    private RecordingRenderTarget target;
+    private Rect bounds;
+
+    @Setup
+    public void setUp() {
+        grid = Faces.createGrid(face);
+        gridRenderer = new GridRenderer();
+        gridRenderer.setMode("LAYERED".equals(mode) ? GridRenderer.MODE_LAYERED : GridRenderer.MODE_DIRECT);
+        target = new RecordingRenderTarget(Faces.FACE_SIZE, Faces.FACE_SIZE);
+        bounds = new Rect();
+        bounds.right = Faces.FACE_SIZE;
+        bounds.bottom = Faces.FACE_SIZE;
+    }
+
+    @Benchmark
+    public int renderGrid() {
+        gridRenderer.renderGrid(target, bounds, grid, Faces.FACE_SIZE / 2.0f, 0f);
+        return target.getDrawCallCount();
+    }
+}
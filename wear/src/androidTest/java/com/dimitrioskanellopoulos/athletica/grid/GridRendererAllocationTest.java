@@ -0,0 +1,112 @@
+package com.dimitrioskanellopoulos.athletica.grid;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Rect;
+import android.graphics.Typeface;
+import android.os.Build;
+import android.os.Debug;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+
+import com.dimitrioskanellopoulos.athletica.grid.columns.Column;
+import com.dimitrioskanellopoulos.athletica.grid.columns.TimeColumn;
+import com.dimitrioskanellopoulos.athletica.grid.rows.Row;
+import com.dimitrioskanellopoulos.athletica.grid.targets.CanvasRenderTarget;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Counts the allocations of the draw path the face uses, the layered mode with the time in a
+ * dynamic row. The runtime only counts the allocations of the whole process, so the frames are
+ * counted a few times and the quietest run is taken, other threads rarely allocate in all of them
+ */
+@RunWith(AndroidJUnit4.class)
+public class GridRendererAllocationTest {
+    private static final String OBJECTS_ALLOCATED = "art.gc.objects-allocated";
+    private static final int FACE_SIZE = 320;
+    private static final int WARM_UP_FRAMES = 10;
+    private static final int COUNTED_FRAMES = 100;
+    private static final int RUNS = 5;
+
+    private Context context;
+    private Grid grid;
+    private GridRenderer gridRenderer;
+    private CanvasRenderTarget target;
+    private Rect bounds;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getTargetContext();
+        grid = new Grid();
+
+        Row timeRow = createRow("PM");
+        timeRow.setIsDynamic(true);
+        TimeColumn timeColumn = new TimeColumn(context, grid.getStyleRegistry(), Typeface.SANS_SERIF, 40f);
+        timeColumn.setBaseline(Column.BASELINE_ABSOLUTE_CENTER);
+        timeRow.putColumn("timeColumn", timeColumn);
+        grid.putRow("1_timeRow", timeRow);
+        grid.putRow("2_dateRow", createRow("18.10.2026"));
+        grid.putRow("6_batteryRow", createRow("", "99%"));
+
+        gridRenderer = new GridRenderer();
+        gridRenderer.setMode(GridRenderer.MODE_LAYERED);
+        target = new CanvasRenderTarget();
+        target.setCanvas(new Canvas(Bitmap.createBitmap(FACE_SIZE, FACE_SIZE, Bitmap.Config.ARGB_8888)));
+        bounds = new Rect(0, 0, FACE_SIZE, FACE_SIZE);
+    }
+
+    @Test
+    public void drawingAFrameDoesNotAllocate() {
+        // The runtime statistics came with Marshmallow
+        assumeTrue(Build.VERSION.SDK_INT >= Build.VERSION_CODES.M);
+        for (int frame = 0; frame < WARM_UP_FRAMES; frame++) {
+            drawFrame();
+        }
+
+        // Reading the statistic allocates its String, which the counts below include
+        long readingAllocations = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = getObjectsAllocated();
+            readingAllocations = Math.min(readingAllocations, getObjectsAllocated() - start);
+        }
+
+        long fewestAllocations = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = getObjectsAllocated();
+            for (int frame = 0; frame < COUNTED_FRAMES; frame++) {
+                drawFrame();
+            }
+            fewestAllocations = Math.min(fewestAllocations, getObjectsAllocated() - start - readingAllocations);
+        }
+
+        assertEquals("Allocations while drawing " + COUNTED_FRAMES + " frames", 0, fewestAllocations);
+    }
+
+    private void drawFrame() {
+        gridRenderer.renderGrid(target, bounds, grid, FACE_SIZE / 2.0f, 0f);
+        gridRenderer.drawTicks(target, bounds, Color.WHITE, 2f);
+        gridRenderer.interlaceCanvas(target, bounds, Color.BLACK, 100);
+    }
+
+    private static long getObjectsAllocated() {
+        return Long.parseLong(Debug.getRuntimeStat(OBJECTS_ALLOCATED));
+    }
+
+    private Row createRow(String... texts) {
+        Row row = new Row();
+        for (String text : texts) {
+            Column column = new Column(context, grid.getStyleRegistry(), Typeface.SANS_SERIF, 20f);
+            column.setText(text);
+            row.putColumn(text, column);
+        }
+        return row;
+    }
+}
@@ -0,0 +1,98 @@
+package com.dimitrioskanellopoulos.athletica.grid;
+
+import android.content.Context;
+import android.graphics.Rect;
+import android.graphics.Typeface;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+
+import com.dimitrioskanellopoulos.athletica.grid.columns.Column;
+import com.dimitrioskanellopoulos.athletica.grid.rows.Row;
+import com.dimitrioskanellopoulos.athletica.grid.targets.RecordingRenderTarget;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks which rows the layered mode repaints for a dirty one. It needs the real Rect and text
+ * measuring, so it runs on a device
+ */
+@RunWith(AndroidJUnit4.class)
+public class GridRendererDamageTest {
+    private static final int FACE_SIZE = 320;
+
+    private Context context;
+    private Grid grid;
+    private GridRenderer gridRenderer;
+    private RecordingRenderTarget target;
+    private Rect bounds;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getTargetContext();
+        grid = new Grid();
+        Row timeRow = createRow(40f, "12:34:56", "PM");
+        timeRow.setIsDynamic(true);
+        grid.putRow("1_timeRow", timeRow);
+        grid.putRow("2_dateRow", createRow(20f, "18.10.2026"));
+        grid.putRow("3_sunriseSunsetRow", createRow(20f, "06:42", "19:17"));
+        grid.putRow("6_batteryRow", createRow(20f, "99%"));
+
+        gridRenderer = new GridRenderer();
+        gridRenderer.setMode(GridRenderer.MODE_LAYERED);
+        target = new RecordingRenderTarget(FACE_SIZE, FACE_SIZE);
+        bounds = new Rect(0, 0, FACE_SIZE, FACE_SIZE);
+    }
+
+    @Test
+    public void repaintsTheDirtyRowAndTheRowsItsAreaOverlaps() {
+        drawFrame();
+        RecordingRenderTarget staticLayer = target.getLayers().get(0);
+        Row dateRow = grid.getRow("2_dateRow");
+        Rect damage = new Rect(dateRow.getBounds());
+
+        target.reset();
+        dateRow.getColumn("18.10.2026").setText("Wednesday 19.10.2026");
+        drawFrame();
+
+        // The area the date was drawn at before and the one it takes now
+        damage.union(dateRow.getBounds());
+        int expectedTexts = dateRow.getAllColumns().size();
+        for (String rowName : new String[]{"3_sunriseSunsetRow", "6_batteryRow"}) {
+            Row row = grid.getRow(rowName);
+            if (Rect.intersects(row.getBounds(), damage)) {
+                expectedTexts += row.getAllColumns().size();
+            }
+        }
+        assertEquals(expectedTexts, staticLayer.getTextCount());
+        assertEquals(0, staticLayer.getSaveDepth());
+    }
+
+    @Test
+    public void repaintsNothingWithoutADirtyRow() {
+        drawFrame();
+        RecordingRenderTarget staticLayer = target.getLayers().get(0);
+
+        target.reset();
+        drawFrame();
+        assertEquals(0, staticLayer.getTextCount());
+        assertEquals(0, staticLayer.getRectCount());
+    }
+
+    private void drawFrame() {
+        gridRenderer.renderGrid(target, bounds, grid, FACE_SIZE / 2.0f, 0f);
+    }
+
+    private Row createRow(float textSize, String... texts) {
+        Row row = new Row();
+        for (String text : texts) {
+            Column column = new Column(context, grid.getStyleRegistry(), Typeface.SANS_SERIF, textSize);
+            column.setText(text);
+            row.putColumn(text, column);
+        }
+        return row;
+    }
+}
@@ -0,0 +1,199 @@
+package com.dimitrioskanellopoulos.athletica;
+
+import java.io.PrintWriter;
+
+/**
+ * Counts how long the frames take to draw, split by ambient and interactive mode, how many
+ * seconds the interactive updates skipped and how far the update timer drifts from the wall-clock
+ * second. Recording is a few array increments so it can stay on in release builds. Nothing is
+ * synchronized, the statistics are recorded, dumped and reset on the main thread
+ */
+public class FrameStatistics {
+    public static final int MODE_INTERACTIVE = 0;
+    public static final int MODE_AMBIENT = 1;
+
+    /**
+     * The upper limits (inclusive) in ms of the draw duration buckets. The last bucket takes
+     * everything longer
+     */
+    private static final long[] BUCKET_LIMITS_MS = {1, 2, 4, 8, 16, 33, 66, 100, 250, 500, 1000};
+    private static final String[] MODE_NAMES = {"interactive", "ambient"};
+
+    private final long[][] bucketCounts = new long[2][BUCKET_LIMITS_MS.length + 1];
+    private final long[] drawCounts = new long[2];
+    private final long[] totalDrawNanos = new long[2];
+    private final long[] maxDrawNanos = new long[2];
+
+    private final long updateRateMs;
+    private long lastInteractiveSecond = -1;
+    private long missedDeadlines = 0;
+
+    private long driftCount = 0;
+    private long totalDriftMs = 0;
+    private long maxDriftMs = 0;
+
+    public FrameStatistics(long updateRateMs) {
+        this.updateRateMs = updateRateMs;
+    }
+
+    /**
+     * Records a drawn frame
+     *
+     * @param startNanos  from System.nanoTime() before drawing
+     * @param endNanos    from System.nanoTime() after drawing
+     * @param wallClockMs from System.currentTimeMillis() when the frame was drawn
+     */
+    public void recordDraw(int mode, long startNanos, long endNanos, long wallClockMs) {
+        long durationNanos = endNanos - startNanos;
+        // Compared in nanos, a 16.9ms frame must not count as one of 16ms
+        int bucket = 0;
+        while (bucket < BUCKET_LIMITS_MS.length && durationNanos > BUCKET_LIMITS_MS[bucket] * 1000000) {
+            bucket++;
+        }
+        bucketCounts[mode][bucket]++;
+        drawCounts[mode]++;
+        totalDrawNanos[mode] += durationNanos;
+        if (durationNanos > maxDrawNanos[mode]) {
+            maxDrawNanos[mode] = durationNanos;
+        }
+
+        if (mode != MODE_INTERACTIVE) {
+            return;
+        }
+        // Every update period should get its own frame. If a period was skipped the user saw
+        // the display jump over it
+        long second = wallClockMs / updateRateMs;
+        if (lastInteractiveSecond >= 0 && second - lastInteractiveSecond > 1) {
+            missedDeadlines += second - lastInteractiveSecond - 1;
+        }
+        lastInteractiveSecond = second;
+    }
+
+    /**
+     * The interactive updates stopped (ambient mode or not visible) so the next frame does not
+     * follow the previous one
+     */
+    public void restartInteractiveSequence() {
+        lastInteractiveSecond = -1;
+    }
+
+    /**
+     * Records when the update timer fired compared to the start of the period it was due at
+     */
+    public void recordTimerDrift(long wallClockMs) {
+        long driftMs = wallClockMs % updateRateMs;
+        driftCount++;
+        totalDriftMs += driftMs;
+        if (driftMs > maxDriftMs) {
+            maxDriftMs = driftMs;
+        }
+    }
+
+    public long getDrawCount(int mode) {
+        return drawCounts[mode];
+    }
+
+    public float getMeanDrawMs(int mode) {
+        if (drawCounts[mode] == 0) {
+            return 0f;
+        }
+        return totalDrawNanos[mode] / 1000000f / drawCounts[mode];
+    }
+
+    public float getMaxDrawMs(int mode) {
+        return maxDrawNanos[mode] / 1000000f;
+    }
+
+    /**
+     * The upper limit in ms of the bucket the given percentile of the frames fall in,
+     * Long.MAX_VALUE for the last bucket or -1 if no frame was drawn
+     */
+    public long getPercentileDrawMs(int mode, float percentile) {
+        if (drawCounts[mode] == 0) {
+            return -1;
+        }
+        long target = (long) Math.ceil(drawCounts[mode] * percentile / 100f);
+        long count = 0;
+        for (int bucket = 0; bucket < BUCKET_LIMITS_MS.length; bucket++) {
+            count += bucketCounts[mode][bucket];
+            if (count >= target) {
+                return BUCKET_LIMITS_MS[bucket];
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * The number of frames in each bucket, copied. See {@link #getBucketLimitsMs()}
+     */
+    public long[] getBucketCounts(int mode) {
+        return bucketCounts[mode].clone();
+    }
+
+    public static long[] getBucketLimitsMs() {
+        return BUCKET_LIMITS_MS.clone();
+    }
+
+    /**
+     * How many interactive update periods did not get a frame
+     */
+    public long getMissedDeadlines() {
+        return missedDeadlines;
+    }
+
+    public float getMeanTimerDriftMs() {
+        if (driftCount == 0) {
+            return 0f;
+        }
+        return (float) totalDriftMs / driftCount;
+    }
+
+    public long getMaxTimerDriftMs() {
+        return maxDriftMs;
+    }
+
+    public void reset() {
+        for (int mode = 0; mode < 2; mode++) {
+            for (int bucket = 0; bucket < bucketCounts[mode].length; bucket++) {
+                bucketCounts[mode][bucket] = 0;
+            }
+            drawCounts[mode] = 0;
+            totalDrawNanos[mode] = 0;
+            maxDrawNanos[mode] = 0;
+        }
+        lastInteractiveSecond = -1;
+        missedDeadlines = 0;
+        driftCount = 0;
+        totalDriftMs = 0;
+        maxDriftMs = 0;
+    }
+
+    public void dump(String prefix, PrintWriter writer) {
+        writer.println(prefix + "Frame statistics:");
+        for (int mode = 0; mode < 2; mode++) {
+            writer.println(prefix + "  " + MODE_NAMES[mode] + ": frames=" + drawCounts[mode]
+                    + " mean=" + getMeanDrawMs(mode) + "ms"
+                    + " max=" + getMaxDrawMs(mode) + "ms"
+                    + " p50<=" + formatLimit(getPercentileDrawMs(mode, 50))
+                    + " p90<=" + formatLimit(getPercentileDrawMs(mode, 90))
+                    + " p99<=" + formatLimit(getPercentileDrawMs(mode, 99)));
+            StringBuilder histogram = new StringBuilder(prefix + "    histogram:");
+            for (int bucket = 0; bucket < bucketCounts[mode].length; bucket++) {
+                histogram.append(' ')
+                        .append(bucket < BUCKET_LIMITS_MS.length ? "<=" + BUCKET_LIMITS_MS[bucket] : ">" + BUCKET_LIMITS_MS[BUCKET_LIMITS_MS.length - 1])
+                        .append("ms=")
+                        .append(bucketCounts[mode][bucket]);
+            }
+            writer.println(histogram);
+        }
+        writer.println(prefix + "  missed deadlines (" + updateRateMs + "ms): " + missedDeadlines);
+        writer.println(prefix + "  timer drift: mean=" + getMeanTimerDriftMs() + "ms max=" + maxDriftMs + "ms");
+    }
+
+    private static String formatLimit(long limitMs) {
+        if (limitMs < 0) {
+            return "n/a";
+        }
+        return limitMs == Long.MAX_VALUE ? "inf" : limitMs + "ms";
+    }
+}
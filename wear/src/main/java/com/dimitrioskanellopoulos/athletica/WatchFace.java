@@ -7,7 +7,9 @@ import android.graphics.Color;
 import android.graphics.Rect;
 import android.graphics.Typeface;
 import android.util.Log;
+import android.util.Pair;
 
+import com.dimitrioskanellopoulos.athletica.grid.AmbientRenderer;
 import com.dimitrioskanellopoulos.athletica.grid.Grid;
 import com.dimitrioskanellopoulos.athletica.grid.GridRenderer;
 import com.dimitrioskanellopoulos.athletica.grid.columns.AmPmColumn;
@@ -17,32 +19,46 @@ import com.dimitrioskanellopoulos.athletica.grid.columns.Column;
 import com.dimitrioskanellopoulos.athletica.grid.columns.ColumnFactory;
 import com.dimitrioskanellopoulos.athletica.grid.columns.DateColumn;
 import com.dimitrioskanellopoulos.athletica.grid.columns.GoogleFitStepsColumn;
+import com.dimitrioskanellopoulos.athletica.grid.columns.IconColumn;
+import com.dimitrioskanellopoulos.athletica.grid.columns.SensorColumn;
 import com.dimitrioskanellopoulos.athletica.grid.columns.SunriseColumn;
 import com.dimitrioskanellopoulos.athletica.grid.columns.SunsetColumn;
 import com.dimitrioskanellopoulos.athletica.grid.columns.TimeColumn;
 import com.dimitrioskanellopoulos.athletica.grid.rows.Row;
+import com.dimitrioskanellopoulos.athletica.grid.styles.StyleRegistry;
+import com.dimitrioskanellopoulos.athletica.grid.targets.CanvasRenderTarget;
+import com.dimitrioskanellopoulos.athletica.grid.themes.ThemeEngine;
 import com.dimitrioskanellopoulos.athletica.helpers.EmulatorHelper;
 import com.dimitrioskanellopoulos.athletica.helpers.SunriseSunsetHelper;
 
+import java.io.PrintWriter;
+import java.util.Calendar;
+
 class WatchFace {
     private static final String TAG = "Watchface";
 
     private static final Grid grid = new Grid();
     private static final Grid notificationsGrid = new Grid();
+    /**
+     * The styles of the grid, all its columns are created with them
+     */
+    private final StyleRegistry styleRegistry = grid.getStyleRegistry();
 
     private final Context context;
     private final Resources resources;
+    private final GridRenderer gridRenderer = new GridRenderer();
+    private final AmbientRenderer ambientRenderer = new AmbientRenderer();
+    private final CanvasRenderTarget canvasRenderTarget = new CanvasRenderTarget();
+    private final ThemeEngine themeEngine = new ThemeEngine();
+    private int appliedThemeVersion = -1;
+    private final float faceBottomMargin;
 
     private final Typeface fontAwesome;
     private final Typeface materialIconsFont;
     private Typeface defaultTypeface;
     private boolean ambientMode = false;
-    private boolean shouldAntialiasInAmbientMode = false;
     private boolean isVisible = false;
     private boolean interlace = true;
-    private boolean dayNightMode = false;
-    private Boolean invertBlackAndWhite = false;
-    private boolean twoColorBackground = false;
 
     private boolean lowBitAmbient;
     private boolean burnInProtection;
@@ -62,20 +78,32 @@ class WatchFace {
 
         fontAwesome = Typeface.createFromAsset(context.getAssets(), "fonts/fontawesome-webfont.ttf");
         materialIconsFont = Typeface.createFromAsset(context.getAssets(), "fonts/MaterialIcons-Regular.ttf");
+
+        faceBottomMargin = resources.getDimension(R.dimen.face_bottom_margin);
+
+        // Only the time changes every frame, the rest is repainted in a cached layer when dirty
+        gridRenderer.setMode(GridRenderer.MODE_LAYERED);
     }
 
     void draw(Canvas canvas, Rect bounds) {
-        GridRenderer.renderGrid(canvas, bounds, grid, bounds.height() / 2.0f, chinSize + resources.getDimension(R.dimen.face_bottom_margin));
-        if (interlace) {
-            GridRenderer.interlaceCanvas(canvas, bounds, Color.BLACK, 100);
+        applyTheme(System.currentTimeMillis());
+        canvasRenderTarget.setCanvas(canvas);
+        if (ambientMode) {
+            ambientRenderer.render(canvasRenderTarget, bounds, grid, bounds.height() / 2.0f, chinSize + faceBottomMargin);
+        } else {
+            gridRenderer.renderGrid(canvasRenderTarget, bounds, grid, bounds.height() / 2.0f, chinSize + faceBottomMargin);
+        }
+        // A low bit display would only turn the interlace lines into solid ones
+        if (interlace && !(ambientMode && lowBitAmbient)) {
+            gridRenderer.interlaceCanvas(canvasRenderTarget, bounds, Color.BLACK, 100);
         }
     }
 
     void addRowForTime() {
         Row timeRow = new Row();
-        TimeColumn timeColumn = new TimeColumn(context, defaultTypeface, resources.getDimension(R.dimen.time_size), grid.getTextColor());
+        timeRow.setIsDynamic(true);
+        TimeColumn timeColumn = new TimeColumn(context, styleRegistry, defaultTypeface, resources.getDimension(R.dimen.time_size));
         timeColumn.setBaseline(Column.BASELINE_ABSOLUTE_CENTER);
-        timeColumn.shouldAntialiasInAmbientMode(shouldAntialiasInAmbientMode);
         timeColumn.setAmbientMode(ambientMode);
         timeColumn.setIsVisible(isVisible);
         timeRow.putColumn("timeColumn", timeColumn);
@@ -84,8 +112,7 @@ class WatchFace {
 
     void addRowForDate() {
         Row dateRow = new Row();
-        DateColumn dateColumn = new DateColumn(context, defaultTypeface, resources.getDimension(R.dimen.date_size), grid.getTextColor(), isVisible, ambientMode);
-        dateColumn.shouldAntialiasInAmbientMode(shouldAntialiasInAmbientMode);
+        DateColumn dateColumn = new DateColumn(context, styleRegistry, defaultTypeface, resources.getDimension(R.dimen.date_size), isVisible, ambientMode);
         dateColumn.setAmbientMode(ambientMode);
         dateColumn.setIsVisible(isVisible);
         dateColumn.setBaseline(Column.BASELINE_TOP);
@@ -108,9 +135,8 @@ class WatchFace {
         if (sensorsRow.getAllColumns().size() >= 3) {
             sensorsRow.getAllColumns().values().toArray(new Column[0])[sensorsRow.getAllColumns().size() - 1].setHorizontalMargin(resources.getDimension(R.dimen.column_margin));
         }
-        Column sensorIconColumn = ColumnFactory.getIconColumnForSensorType(context, sensorType, fontAwesome, resources.getDimension(R.dimen.icon_size), grid.getTextColor(), isVisible, ambientMode);
+        Column sensorIconColumn = ColumnFactory.getIconColumnForSensorType(context, styleRegistry, sensorType, fontAwesome, resources.getDimension(R.dimen.icon_size), isVisible, ambientMode);
         sensorIconColumn.setHorizontalMargin(resources.getDimension(R.dimen.icon_margin));
-        sensorIconColumn.shouldAntialiasInAmbientMode(shouldAntialiasInAmbientMode);
         sensorIconColumn.setAmbientMode(ambientMode);
         sensorIconColumn.setIsVisible(isVisible);
         sensorsRow.putColumn(sensorType.toString() + "Icon", sensorIconColumn);
@@ -118,27 +144,40 @@ class WatchFace {
         // Add column depending on emu
         Column sensorColumn;
         if (EmulatorHelper.isEmulator()) {
-            sensorColumn = new Column(context, defaultTypeface, resources.getDimension(R.dimen.text_size), grid.getTextColor());
+            sensorColumn = new Column(context, styleRegistry, defaultTypeface, resources.getDimension(R.dimen.text_size));
             sensorColumn.setText("21");
         } else {
-            sensorColumn = ColumnFactory.getColumnForSensorType(context, sensorType, defaultTypeface, resources.getDimension(R.dimen.text_size), grid.getTextColor(), isVisible, ambientMode);
+            sensorColumn = ColumnFactory.getColumnForSensorType(context, styleRegistry, sensorType, defaultTypeface, resources.getDimension(R.dimen.text_size), isVisible, ambientMode);
         }
 
         sensorColumn.setHorizontalMargin(resources.getDimension(R.dimen.units_margin));
-        sensorColumn.shouldAntialiasInAmbientMode(shouldAntialiasInAmbientMode);
         sensorColumn.setAmbientMode(ambientMode);
         sensorColumn.setIsVisible(isVisible);
         sensorsRow.putColumn(sensorType.toString(), sensorColumn);
 
         // Add units
-        Column sensorUnitsColumn = ColumnFactory.getUnitsColumnForSensorType(context, sensorType, defaultTypeface, resources.getDimension(R.dimen.units_size), grid.getTextColor(), isVisible, ambientMode);
+        Column sensorUnitsColumn = ColumnFactory.getUnitsColumnForSensorType(context, styleRegistry, sensorType, defaultTypeface, resources.getDimension(R.dimen.units_size), isVisible, ambientMode);
         sensorUnitsColumn.setBaseline(Column.BASELINE_PREVIOUS);
-        sensorUnitsColumn.shouldAntialiasInAmbientMode(shouldAntialiasInAmbientMode);
         sensorUnitsColumn.setAmbientMode(ambientMode);
         sensorUnitsColumn.setIsVisible(isVisible);
         sensorsRow.putColumn(sensorType.toString() + "Units", sensorUnitsColumn);
     }
 
+    /**
+     * Prints how the events of the sensors were delivered
+     */
+    void dump(String prefix, PrintWriter writer) {
+        Row sensorsRow = grid.getRow("5_sensorsRow");
+        if (sensorsRow == null) {
+            return;
+        }
+        for (Column column : sensorsRow.getAllColumns().values()) {
+            if (column instanceof SensorColumn) {
+                ((SensorColumn) column).dump(prefix, writer);
+            }
+        }
+    }
+
     void removeSensorsRow() {
         grid.removeRow("5_sensorsRow");
     }
@@ -146,16 +185,14 @@ class WatchFace {
     void addRowForBattery() {
         Row batteryRow = new Row();
         //Icon
-        BatteryIconColumn batteryIconColumn = new BatteryIconColumn(context, fontAwesome, resources.getDimension(R.dimen.battery_icon_size), grid.getTextColor(), isVisible, ambientMode);
+        BatteryIconColumn batteryIconColumn = new BatteryIconColumn(context, styleRegistry, fontAwesome, resources.getDimension(R.dimen.battery_icon_size), isVisible, ambientMode);
         batteryIconColumn.setHorizontalMargin(resources.getDimension(R.dimen.icon_margin));
-        batteryIconColumn.shouldAntialiasInAmbientMode(shouldAntialiasInAmbientMode);
         batteryIconColumn.setAmbientMode(ambientMode);
         batteryIconColumn.setIsVisible(isVisible);
         batteryRow.putColumn("batteryIconColumn", batteryIconColumn);
 
         // Column
-        BatteryLevelColumn batteryLevelColumn = new BatteryLevelColumn(context, defaultTypeface, resources.getDimension(R.dimen.battery_text_size), grid.getTextColor(), isVisible, ambientMode);
-        batteryLevelColumn.shouldAntialiasInAmbientMode(shouldAntialiasInAmbientMode);
+        BatteryLevelColumn batteryLevelColumn = new BatteryLevelColumn(context, styleRegistry, defaultTypeface, resources.getDimension(R.dimen.battery_text_size), isVisible, ambientMode);
         batteryLevelColumn.setBaseline(Column.BASELINE_PREVIOUS);
         batteryLevelColumn.setAmbientMode(ambientMode);
         batteryLevelColumn.setIsVisible(isVisible);
@@ -169,7 +206,12 @@ class WatchFace {
      */
     void setInAmbientMode(boolean inAmbientMode) {
         ambientMode = inAmbientMode;
+        // The palette follows on the next draw
+        themeEngine.setAmbientMode(inAmbientMode);
         grid.setInAmbientMode(inAmbientMode);
+        if (!inAmbientMode) {
+            ambientRenderer.release();
+        }
     }
 
     /**
@@ -185,7 +227,7 @@ class WatchFace {
      */
     void runTasks() {
         grid.runTasks();
-        setGridColors();
+        updateSunriseSunset();
     }
 
 
@@ -197,9 +239,8 @@ class WatchFace {
             grid.getRow("1_timeRow").removeColumn("amPmColumn");
             return;
         }
-        AmPmColumn amPmColumn = new AmPmColumn(context, defaultTypeface, resources.getDimension(R.dimen.time_am_pm_size), grid.getTextColor(), isVisible, ambientMode);
+        AmPmColumn amPmColumn = new AmPmColumn(context, styleRegistry, defaultTypeface, resources.getDimension(R.dimen.time_am_pm_size), isVisible, ambientMode);
         amPmColumn.setBaseline(timeColumn.getBaseline());
-        amPmColumn.shouldAntialiasInAmbientMode(shouldAntialiasInAmbientMode);
         amPmColumn.setAmbientMode(ambientMode);
         amPmColumn.setIsVisible(isVisible);
         grid.getRow("1_timeRow").putColumn("amPmColumn", amPmColumn);
@@ -216,8 +257,7 @@ class WatchFace {
     }
 
     void setInvertBlackAndWhite(Boolean invertBlackAndWhite) {
-        this.invertBlackAndWhite = invertBlackAndWhite;
-        setGridColors();
+        themeEngine.setInvertBlackAndWhite(invertBlackAndWhite);
     }
 
     void showGoogleFitSteps(Boolean showGoogleFitSteps) {
@@ -225,28 +265,24 @@ class WatchFace {
         if (showGoogleFitSteps) {
             if (grid.getRow("4_googleFitRow") == null) {
                 // Icon
-                Column googleFitStepsIconColumn = new Column(context, materialIconsFont, resources.getDimension(R.dimen.icon_size), grid.getTextColor());
+                Column googleFitStepsIconColumn = new IconColumn(context, styleRegistry, materialIconsFont, resources.getDimension(R.dimen.icon_size), resources.getString(R.string.icon_google_fit_steps));
                 //googleFitStepsIconColumn.setHorizontalMargin(resources.getDimension(R.dimen.icon_margin)); // No margin needed for these icons
-                googleFitStepsIconColumn.setText(resources.getString(R.string.icon_google_fit_steps));
-                googleFitStepsIconColumn.shouldAntialiasInAmbientMode(shouldAntialiasInAmbientMode);
                 googleFitStepsIconColumn.setAmbientMode(ambientMode);
                 googleFitStepsIconColumn.setIsVisible(isVisible);
                 Row googleFitRow = new Row();
                 googleFitRow.putColumn("googleFitStepsColumnIcon", googleFitStepsIconColumn);
 
                 // Steps
-                GoogleFitStepsColumn googleFitStepsColumn = new GoogleFitStepsColumn(context, defaultTypeface, resources.getDimension(R.dimen.text_size), grid.getTextColor(), isVisible, ambientMode);
-                googleFitStepsColumn.shouldAntialiasInAmbientMode(shouldAntialiasInAmbientMode);
+                GoogleFitStepsColumn googleFitStepsColumn = new GoogleFitStepsColumn(context, styleRegistry, defaultTypeface, resources.getDimension(R.dimen.text_size), isVisible, ambientMode);
                 googleFitStepsColumn.setAmbientMode(ambientMode);
                 googleFitStepsColumn.setIsVisible(isVisible);
                 googleFitRow.putColumn("googleFitStepsColumn", googleFitStepsColumn);
                 googleFitStepsColumn.setHorizontalMargin(resources.getDimension(R.dimen.units_margin));
 
                 // Steps
-                Column googleFitStepsUnitsColumn = new Column(context, defaultTypeface, resources.getDimension(R.dimen.units_size), grid.getTextColor());
+                Column googleFitStepsUnitsColumn = new Column(context, styleRegistry, defaultTypeface, resources.getDimension(R.dimen.units_size));
                 googleFitStepsUnitsColumn.setText("steps");
                 googleFitStepsUnitsColumn.setBaseline(Column.BASELINE_PREVIOUS);
-                googleFitStepsUnitsColumn.shouldAntialiasInAmbientMode(shouldAntialiasInAmbientMode);
                 googleFitStepsUnitsColumn.setAmbientMode(ambientMode);
                 googleFitStepsUnitsColumn.setIsVisible(isVisible);
                 googleFitRow.putColumn("googleFitStepsUnitsColumn", googleFitStepsUnitsColumn);
@@ -263,33 +299,27 @@ class WatchFace {
             if (grid.getRow("3_sunriseSunsetRow") == null) {
                 Row sunriseSunsetRow = new Row();
                 // Icon
-                Column sunriseIconColumn = new Column(context, materialIconsFont, resources.getDimension(R.dimen.icon_size), grid.getTextColor());
-                sunriseIconColumn.setText(resources.getString(R.string.icon_sunrise));
+                Column sunriseIconColumn = new IconColumn(context, styleRegistry, materialIconsFont, resources.getDimension(R.dimen.icon_size), resources.getString(R.string.icon_sunrise));
                 sunriseIconColumn.setHorizontalMargin(resources.getDimension(R.dimen.icon_margin));
-                sunriseIconColumn.shouldAntialiasInAmbientMode(shouldAntialiasInAmbientMode);
                 sunriseIconColumn.setAmbientMode(ambientMode);
                 sunriseIconColumn.setIsVisible(isVisible);
                 sunriseSunsetRow.putColumn("sunriseIconColumn", sunriseIconColumn);
                 // Column
-                SunriseColumn sunriseColumn = new SunriseColumn(context, defaultTypeface, resources.getDimension(R.dimen.sunrise_sunset_times_size), grid.getTextColor(), isVisible, ambientMode);
+                SunriseColumn sunriseColumn = new SunriseColumn(context, styleRegistry, defaultTypeface, resources.getDimension(R.dimen.sunrise_sunset_times_size), isVisible, ambientMode);
                 sunriseColumn.setHorizontalMargin(resources.getDimension(R.dimen.column_margin));
-                sunriseColumn.shouldAntialiasInAmbientMode(shouldAntialiasInAmbientMode);
                 sunriseColumn.setAmbientMode(ambientMode);
                 sunriseColumn.setIsVisible(isVisible);
                 sunriseSunsetRow.putColumn("sunriseColumn", sunriseColumn);
 
                 // Icon
-                Column sunsetIconColumn = new Column(context, fontAwesome, resources.getDimension(R.dimen.icon_size), grid.getTextColor());
+                Column sunsetIconColumn = new IconColumn(context, styleRegistry, fontAwesome, resources.getDimension(R.dimen.icon_size), resources.getString(R.string.icon_sunset));
                 sunsetIconColumn.setHorizontalMargin(resources.getDimension(R.dimen.icon_margin));
-                sunsetIconColumn.setText(resources.getString(R.string.icon_sunset));
-                sunsetIconColumn.shouldAntialiasInAmbientMode(shouldAntialiasInAmbientMode);
                 sunsetIconColumn.setAmbientMode(ambientMode);
                 sunsetIconColumn.setIsVisible(isVisible);
                 sunriseSunsetRow.putColumn("sunsetIconColumn", sunsetIconColumn);
 
                 // Column
-                SunsetColumn sunsetColumn = new SunsetColumn(context, defaultTypeface, resources.getDimension(R.dimen.sunrise_sunset_times_size), grid.getTextColor(), isVisible, ambientMode);
-                sunsetColumn.shouldAntialiasInAmbientMode(shouldAntialiasInAmbientMode);
+                SunsetColumn sunsetColumn = new SunsetColumn(context, styleRegistry, defaultTypeface, resources.getDimension(R.dimen.sunrise_sunset_times_size), isVisible, ambientMode);
                 sunsetColumn.setAmbientMode(ambientMode);
                 sunsetColumn.setIsVisible(isVisible);
                 sunriseSunsetRow.putColumn("sunsetColumn", sunsetColumn);
@@ -301,25 +331,28 @@ class WatchFace {
         }
     }
 
-    private void setGridColors() {
-        if (invertBlackAndWhite) {
-            if (dayNightMode) {
-                grid.setBackgroundColor(SunriseSunsetHelper.isDay() ? Color.WHITE : Color.BLACK);
-                grid.setTextColor(SunriseSunsetHelper.isDay() ? Color.BLACK : Color.WHITE);
-            } else {
-                grid.setBackgroundColor(Color.WHITE);
-                grid.setTextColor(Color.BLACK);
-            }
-        } else {
-            if (dayNightMode) {
-                grid.setBackgroundColor(SunriseSunsetHelper.isDay() ? Color.BLACK : Color.WHITE);
-                grid.setTextColor(SunriseSunsetHelper.isDay() ? Color.WHITE : Color.BLACK);
-            } else {
-                grid.setBackgroundColor(Color.BLACK);
-                grid.setTextColor(Color.WHITE);
-            }
+    /**
+     * Switches the grid to the palette of the theme, only when the theme changed or its sunrise
+     * or sunset came
+     */
+    private void applyTheme(long nowMs) {
+        themeEngine.update(nowMs);
+        if (themeEngine.getVersion() == appliedThemeVersion) {
+            return;
         }
+        grid.setPalette(themeEngine.getPalette());
+        appliedThemeVersion = themeEngine.getVersion();
+    }
 
+    /**
+     * Hands the last calculated sunrise and sunset to the theme so it knows when to switch
+     */
+    private void updateSunriseSunset() {
+        Pair<Calendar, Calendar> sunriseSunset = SunriseSunsetHelper.getLastKnownSunriseSunset();
+        if (sunriseSunset == null) {
+            return;
+        }
+        themeEngine.setSunriseSunset(sunriseSunset.first.getTimeInMillis(), sunriseSunset.second.getTimeInMillis());
     }
 
     void setIsRound(boolean round) {
@@ -331,11 +364,11 @@ class WatchFace {
     }
 
     void setDayNightMode(boolean dayNightMode) {
-        this.dayNightMode = dayNightMode;
+        themeEngine.setDayNightMode(dayNightMode);
     }
 
     void setTwoColorBackground(boolean twoColorBackground) {
-        this.twoColorBackground = twoColorBackground;
+        themeEngine.setTwoColorBackground(twoColorBackground);
     }
 
     public void shouldAntialiasInAmbientMode(Boolean shouldAntialiasInAmbientMode) {
@@ -349,5 +382,7 @@ class WatchFace {
 
     public void setBurnInProtection(boolean burnInProtection) {
         this.burnInProtection = burnInProtection;
+        grid.setBurnInProtection(burnInProtection);
+        ambientRenderer.setBurnInProtection(burnInProtection);
     }
 }
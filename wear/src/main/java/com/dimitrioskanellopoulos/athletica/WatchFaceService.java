@@ -7,6 +7,7 @@ import android.hardware.Sensor;
 import android.hardware.SensorManager;
 import android.os.Bundle;
 import android.os.Handler;
+import android.os.Looper;
 import android.os.Message;
 import android.os.Vibrator;
 import android.support.annotation.NonNull;
@@ -18,6 +19,7 @@ import android.view.SurfaceHolder;
 import android.view.WindowInsets;
 
 import com.dimitrioskanellopoulos.athletica.configuration.ConfigurationHelper;
+import com.dimitrioskanellopoulos.athletica.grid.columns.TextMetricsCache;
 import com.dimitrioskanellopoulos.athletica.helpers.EmulatorHelper;
 import com.dimitrioskanellopoulos.athletica.sensors.CallbackSensor;
 import com.google.android.gms.common.ConnectionResult;
@@ -30,9 +32,14 @@ import com.google.android.gms.wearable.DataMap;
 import com.google.android.gms.wearable.DataMapItem;
 import com.google.android.gms.wearable.Wearable;
 
+import java.io.FileDescriptor;
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 public class WatchFaceService extends CanvasWatchFaceService {
@@ -54,6 +61,11 @@ public class WatchFaceService extends CanvasWatchFaceService {
      */
     private static final long RUN_ON_TICK_TASKS_EVERY_MS = !EmulatorHelper.isEmulator() ? 5 * 60 * 1000 : 1 * 60 * 1000;
 
+    /**
+     * How long dump waits for the main thread to print the statistics
+     */
+    private static final long DUMP_TIMEOUT_MS = 2000;
+
     @Override
     public CanvasWatchFaceService.Engine onCreateEngine() {
         return new Engine();
@@ -110,6 +122,14 @@ public class WatchFaceService extends CanvasWatchFaceService {
                 .setAcceptsTapEvents(true)
                 .setShowSystemUiTime(false)
                 .build();
+        /**
+         * How long the frames take and how well the update timer keeps up
+         */
+        private final FrameStatistics frameStatistics = new FrameStatistics(INTERACTIVE_UPDATE_RATE_MS);
+        /**
+         * Whether the pending update time message was scheduled for the start of a second
+         */
+        private boolean isUpdateTimeMessageAligned = false;
         /**
          * When the onTickActions were run last time in ms
          */
@@ -220,7 +240,58 @@ public class WatchFaceService extends CanvasWatchFaceService {
         @Override
         public void onDraw(Canvas canvas, Rect bounds) {
             super.onDraw(canvas, bounds);
+            long startNanos = System.nanoTime();
             watchFace.draw(canvas, bounds);
+            frameStatistics.recordDraw(isInAmbientMode() ? FrameStatistics.MODE_AMBIENT : FrameStatistics.MODE_INTERACTIVE,
+                    startNanos, System.nanoTime(), System.currentTimeMillis());
+        }
+
+        /**
+         * Prints the statistics, "reset" as an argument starts them over once printed
+         */
+        @Override
+        protected void dump(final String prefix, FileDescriptor fd, PrintWriter writer, String[] args) {
+            super.dump(prefix, fd, writer, args);
+            final boolean reset = args != null && Arrays.asList(args).contains("reset");
+            final StringWriter statistics = new StringWriter();
+            final CountDownLatch printed = new CountDownLatch(1);
+            Runnable printStatistics = new Runnable() {
+                @Override
+                public void run() {
+                    PrintWriter statisticsWriter = new PrintWriter(statistics);
+                    frameStatistics.dump(prefix, statisticsWriter);
+                    TextMetricsCache.dump(prefix, statisticsWriter);
+                    watchFace.dump(prefix, statisticsWriter);
+                    if (reset) {
+                        frameStatistics.reset();
+                        TextMetricsCache.resetCounters();
+                        statisticsWriter.println(prefix + "Statistics reset");
+                    }
+                    statisticsWriter.flush();
+                    printed.countDown();
+                }
+            };
+            // The statistics are recorded on the main thread without locks and dump is called on
+            // a binder one, so the main thread prints them between two frames
+            if (Looper.myLooper() == mUpdateTimeHandler.getLooper()) {
+                printStatistics.run();
+            } else {
+                mUpdateTimeHandler.post(printStatistics);
+                try {
+                    if (!printed.await(DUMP_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                        writer.println(prefix + "The main thread did not print the statistics in " + DUMP_TIMEOUT_MS + "ms");
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            writer.print(statistics.toString());
+        }
+
+        FrameStatistics getFrameStatistics() {
+            return frameStatistics;
         }
 
         @Override
@@ -454,6 +525,8 @@ public class WatchFaceService extends CanvasWatchFaceService {
          */
         private void updateTimer() {
             mUpdateTimeHandler.removeMessages(MSG_UPDATE_TIME);
+            frameStatistics.restartInteractiveSequence();
+            isUpdateTimeMessageAligned = false;
             if (shouldTimerBeRunning()) {
                 mUpdateTimeHandler.sendEmptyMessage(MSG_UPDATE_TIME);
             }
@@ -474,9 +547,14 @@ public class WatchFaceService extends CanvasWatchFaceService {
             invalidate();
             if (shouldTimerBeRunning()) {
                 long timeMs = System.currentTimeMillis();
+                // The first message after a (re)start is sent right away and not at a second
+                if (isUpdateTimeMessageAligned) {
+                    frameStatistics.recordTimerDrift(timeMs);
+                }
                 long delayMs = INTERACTIVE_UPDATE_RATE_MS
                         - (timeMs % INTERACTIVE_UPDATE_RATE_MS);
                 mUpdateTimeHandler.sendEmptyMessageDelayed(MSG_UPDATE_TIME, delayMs);
+                isUpdateTimeMessageAligned = true;
             }
         }
 
@@ -0,0 +1,118 @@
+package com.dimitrioskanellopoulos.athletica.grid;
+
+import android.graphics.Rect;
+
+import com.dimitrioskanellopoulos.athletica.grid.interfaces.TimeSourceInterface;
+import com.dimitrioskanellopoulos.athletica.grid.targets.interfaces.RenderTargetInterface;
+
+/**
+ * Renders the grid in ambient mode. The frame is rendered once into a cached layer and only
+ * that layer is drawn on every tick until the content of the grid changes. In ambient mode the
+ * time changes once a minute so that is usually how often the grid actually gets rendered.
+ * How the text looks (low bit, outlines) is up to the columns in ambient mode.
+ * With burn in protection the cached frame is moved around a small orbit, one step per minute,
+ * so no pixel stays lit all the time. Moving is only an offset of the blit, the grid is not laid
+ * out again
+ */
+public class AmbientRenderer {
+    /**
+     * The offsets in pixels the frame goes through. Consecutive positions are next to each other
+     * so the face never visibly jumps
+     */
+    private static final int[][] ORBIT = {
+            {0, 0}, {2, 0}, {2, 2}, {0, 2}, {-2, 2}, {-2, 0}, {-2, -2}, {0, -2}, {2, -2}
+    };
+    private static final long ORBIT_STEP_MS = 60000;
+    private static final TimeSourceInterface SYSTEM_CLOCK = new TimeSourceInterface() {
+        @Override
+        public long currentTimeMillis() {
+            return System.currentTimeMillis();
+        }
+    };
+
+    private final GridRenderer gridRenderer = new GridRenderer();
+    private final TimeSourceInterface timeSource;
+    private RenderTargetInterface frame;
+    private boolean isFrameValid = false;
+    private int frameVersion;
+    private int frameBackgroundColor;
+    private int frameSecondaryBackgroundColor;
+    private float frameTopMargin;
+    private float frameBottomMargin;
+    private int renderCount = 0;
+    private boolean burnInProtection = false;
+
+    public AmbientRenderer() {
+        this(SYSTEM_CLOCK);
+    }
+
+    /**
+     * The orbit position of the frame follows the time of the given source
+     */
+    public AmbientRenderer(TimeSourceInterface timeSource) {
+        this.timeSource = timeSource;
+    }
+
+    public void render(RenderTargetInterface target, Rect bounds, Grid grid, float topMargin, float bottomMargin) {
+        if (frame == null || frame.getWidth() != bounds.right || frame.getHeight() != bounds.bottom) {
+            release();
+            frame = target.createLayer(bounds.right, bounds.bottom);
+        }
+        int version = grid.getVersion();
+        int backgroundColor = grid.getBackgroundColor();
+        int secondaryBackgroundColor = grid.getSecondaryBackgroundColor();
+        // The palette is part of the key on its own, the grid version is only a hash
+        if (!isFrameValid
+                || version != frameVersion
+                || backgroundColor != frameBackgroundColor
+                || secondaryBackgroundColor != frameSecondaryBackgroundColor
+                || topMargin != frameTopMargin
+                || bottomMargin != frameBottomMargin) {
+            gridRenderer.renderGrid(frame, bounds, grid, topMargin, bottomMargin);
+            frameVersion = version;
+            frameBackgroundColor = backgroundColor;
+            frameSecondaryBackgroundColor = secondaryBackgroundColor;
+            frameTopMargin = topMargin;
+            frameBottomMargin = bottomMargin;
+            isFrameValid = true;
+            renderCount++;
+        }
+        if (burnInProtection) {
+            int[] position = getOrbitPosition(timeSource.currentTimeMillis());
+            // The strip the frame moved away from must not keep the previous frame
+            target.drawColor(backgroundColor);
+            target.drawLayer(frame, position[0], position[1]);
+        } else {
+            target.drawLayer(frame, 0, 0);
+        }
+    }
+
+    /**
+     * The offset (x, y) of the frame at the given time
+     */
+    static int[] getOrbitPosition(long timeMs) {
+        return ORBIT[(int) ((timeMs / ORBIT_STEP_MS) % ORBIT.length)];
+    }
+
+    public void setBurnInProtection(boolean burnInProtection) {
+        this.burnInProtection = burnInProtection;
+    }
+
+    /**
+     * How many times the frame was actually rendered
+     */
+    public int getRenderCount() {
+        return renderCount;
+    }
+
+    /**
+     * Frees the cached frame. Call it when leaving ambient mode
+     */
+    public void release() {
+        if (frame != null) {
+            frame.release();
+            frame = null;
+        }
+        isFrameValid = false;
+    }
+}
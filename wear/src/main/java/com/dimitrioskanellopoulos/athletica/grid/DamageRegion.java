@@ -0,0 +1,87 @@
+package com.dimitrioskanellopoulos.athletica.grid;
+
+import android.graphics.Rect;
+
+/**
+ * The area of the static layer that has to be repainted. It is kept in plain ints and only
+ * reads and writes the fields of a Rect, so the damage is computed the same way on and off the
+ * device
+ */
+class DamageRegion {
+    private int left;
+    private int top;
+    private int right;
+    private int bottom;
+
+    void setEmpty() {
+        left = 0;
+        top = 0;
+        right = 0;
+        bottom = 0;
+    }
+
+    boolean isEmpty() {
+        return left >= right || top >= bottom;
+    }
+
+    /**
+     * Grows the region to also cover the given area. An empty area changes nothing
+     */
+    void union(int left, int top, int right, int bottom) {
+        if (left >= right || top >= bottom) {
+            return;
+        }
+        if (isEmpty()) {
+            this.left = left;
+            this.top = top;
+            this.right = right;
+            this.bottom = bottom;
+            return;
+        }
+        this.left = Math.min(this.left, left);
+        this.top = Math.min(this.top, top);
+        this.right = Math.max(this.right, right);
+        this.bottom = Math.max(this.bottom, bottom);
+    }
+
+    void union(Rect rect) {
+        union(rect.left, rect.top, rect.right, rect.bottom);
+    }
+
+    /**
+     * Whether the region and the area overlap. Touching edges do not
+     */
+    boolean intersects(int left, int top, int right, int bottom) {
+        return this.left < right && left < this.right && this.top < bottom && top < this.bottom;
+    }
+
+    boolean intersects(Rect rect) {
+        return intersects(rect.left, rect.top, rect.right, rect.bottom);
+    }
+
+    /**
+     * Sets the rect to the region, for clipping
+     */
+    void copyTo(Rect rect) {
+        rect.left = left;
+        rect.top = top;
+        rect.right = right;
+        rect.bottom = bottom;
+    }
+
+    int getLeft() {
+        return left;
+    }
+
+    int getTop() {
+        return top;
+    }
+
+    int getRight() {
+        return right;
+    }
+
+    int getBottom() {
+        return bottom;
+    }
+}
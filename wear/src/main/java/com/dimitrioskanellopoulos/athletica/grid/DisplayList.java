@@ -0,0 +1,82 @@
+package com.dimitrioskanellopoulos.athletica.grid;
+
+import com.dimitrioskanellopoulos.athletica.grid.columns.Column;
+import com.dimitrioskanellopoulos.athletica.grid.rows.Row;
+
+import java.util.Collection;
+
+/**
+ * The structure of a grid compiled into flat arrays: the rows in drawing order and all of their
+ * columns back to back, with every row pointing at its range of columns.
+ * It is only recompiled when rows or columns are added or removed so the draw path and the
+ * broadcasts to the columns iterate plain arrays instead of walking the maps
+ */
+class DisplayList {
+    private Row[] rows = new Row[0];
+    private Column[] columns = new Column[0];
+    /**
+     * The columns of row i are columns[rowColumnOffsets[i]] up to columns[rowColumnOffsets[i + 1]]
+     */
+    private int[] rowColumnOffsets = new int[1];
+    private int[] rowStructureVersions = new int[0];
+    private int generation = 0;
+
+    void compile(Collection<Row> rowValues) {
+        rows = rowValues.toArray(new Row[rowValues.size()]);
+        rowColumnOffsets = new int[rows.length + 1];
+        rowStructureVersions = new int[rows.length];
+        int columnCount = 0;
+        for (int i = 0; i < rows.length; i++) {
+            rowColumnOffsets[i] = columnCount;
+            rowStructureVersions[i] = rows[i].getStructureVersion();
+            columnCount += rows[i].getAllColumnsArray().length;
+        }
+        rowColumnOffsets[rows.length] = columnCount;
+
+        columns = new Column[columnCount];
+        for (int i = 0; i < rows.length; i++) {
+            Column[] rowColumns = rows[i].getAllColumnsArray();
+            System.arraycopy(rowColumns, 0, columns, rowColumnOffsets[i], rowColumns.length);
+        }
+        generation++;
+    }
+
+    /**
+     * Whether a column was added to or removed from any of the rows since the last compile
+     */
+    boolean isStale() {
+        for (int i = 0; i < rows.length; i++) {
+            if (rows[i].getStructureVersion() != rowStructureVersions[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Changes on every compile so users can tell the structure they cached against is gone
+     */
+    int getGeneration() {
+        return generation;
+    }
+
+    int getRowCount() {
+        return rows.length;
+    }
+
+    Row getRow(int row) {
+        return rows[row];
+    }
+
+    Column[] getColumns() {
+        return columns;
+    }
+
+    int getFirstColumn(int row) {
+        return rowColumnOffsets[row];
+    }
+
+    int getEndColumn(int row) {
+        return rowColumnOffsets[row + 1];
+    }
+}
@@ -4,18 +4,23 @@ import android.graphics.Color;
 
 import com.dimitrioskanellopoulos.athletica.grid.columns.Column;
 import com.dimitrioskanellopoulos.athletica.grid.rows.Row;
+import com.dimitrioskanellopoulos.athletica.grid.styles.StyleRegistry;
+import com.dimitrioskanellopoulos.athletica.grid.themes.Palette;
 
-import java.util.Map;
 import java.util.TreeMap;
 
 public class Grid {
     private static final String TAG = "Grid";
     private final TreeMap<String, Row> rows = new TreeMap<>();
+    private final DisplayList displayList = new DisplayList();
+    private boolean isDisplayListValid = false;
+    private final StyleRegistry styleRegistry = new StyleRegistry();
     private Integer backgroundColor = Color.BLACK;
-    private Integer textColor = Color.WHITE;
+    private Integer secondaryBackgroundColor = null;
 
     public void putRow(String rowName, Row row) {
         rows.put(rowName, row);
+        isDisplayListValid = false;
     }
 
     public void removeRow(String rowName) {
@@ -24,94 +29,118 @@ public class Grid {
         }
         rows.get(rowName).removeAllColumns();
         rows.remove(rowName);
+        isDisplayListValid = false;
     }
 
     public Row getRow(String rowName) {
         return rows.get(rowName);
     }
 
+    /**
+     * The styles of this grid's look, the columns put in it have to be created with it
+     */
+    public StyleRegistry getStyleRegistry() {
+        return styleRegistry;
+    }
+
     TreeMap<String, Row> getAllRows() {
         return rows;
     }
 
     /**
-     * Toggles the ambient or not mode for all the rows
+     * The rows and columns in drawing order, recompiled if the structure changed since the
+     * last call
      */
-    public void setInAmbientMode(boolean inAmbientMode) {
-        for (Map.Entry<String, Row> rowEntry : getAllRows().entrySet()) {
-            Row row = rowEntry.getValue();
-            for (Map.Entry<String, Column> columnEntry : row.getAllColumns().entrySet()) {
-                Column column = columnEntry.getValue();
-                column.setAmbientMode(inAmbientMode);
-            }
+    DisplayList getDisplayList() {
+        if (!isDisplayListValid || displayList.isStale()) {
+            displayList.compile(rows.values());
+            isDisplayListValid = true;
         }
+        return displayList;
     }
 
     /**
-     * Toggles the burnInProtection
+     * Changes whenever anything that is drawn changes: the structure, the background or any row
      */
-    public void setBurnInProtection(boolean burnInProtection) {
-        for (Map.Entry<String, Row> rowEntry : getAllRows().entrySet()) {
-            Row row = rowEntry.getValue();
-            for (Map.Entry<String, Column> columnEntry : row.getAllColumns().entrySet()) {
-                Column column = columnEntry.getValue();
-                column.setBurnInProtection(burnInProtection);
+    public int getVersion() {
+        DisplayList displayList = getDisplayList();
+        int version = 31 * displayList.getGeneration() + backgroundColor;
+        version = 31 * version + getSecondaryBackgroundColor();
+        for (int i = 0; i < displayList.getRowCount(); i++) {
+            version = 31 * version + displayList.getRow(i).getVersion();
+        }
+        return version;
+    }
+
+    /**
+     * Sets the region to the union of the areas the dirty rows were last drawn at
+     *
+     * @return whether any row is dirty. Rows that were never drawn have no area yet
+     */
+    boolean getDirtyRegion(DamageRegion dirtyRegion) {
+        boolean isDirty = false;
+        dirtyRegion.setEmpty();
+        DisplayList displayList = getDisplayList();
+        for (int i = 0; i < displayList.getRowCount(); i++) {
+            Row row = displayList.getRow(i);
+            if (row.isDirty()) {
+                dirtyRegion.union(row.getBounds());
+                isDirty = true;
             }
         }
+        return isDirty;
+    }
+
+    /**
+     * Toggles the ambient or not mode. The look is switched once in the style registry, the
+     * columns are only told for what they do besides drawing (sensors, formats)
+     */
+    public void setInAmbientMode(boolean inAmbientMode) {
+        styleRegistry.setAmbientMode(inAmbientMode);
+        for (Column column : getDisplayList().getColumns()) {
+            column.setAmbientMode(inAmbientMode);
+        }
     }
 
     /**
      * Toggles the burnInProtection
      */
+    public void setBurnInProtection(boolean burnInProtection) {
+        styleRegistry.setBurnInProtection(burnInProtection);
+    }
+
+    /**
+     * Toggles the lowBitAmbient
+     */
     public void setLowBitAmbient(boolean lowBitAmbient) {
-        for (Map.Entry<String, Row> rowEntry : getAllRows().entrySet()) {
-            Row row = rowEntry.getValue();
-            for (Map.Entry<String, Column> columnEntry : row.getAllColumns().entrySet()) {
-                Column column = columnEntry.getValue();
-                column.setLowBitAmbient(lowBitAmbient);
-            }
-        }
+        styleRegistry.setLowBitAmbient(lowBitAmbient);
     }
 
     /**
      * Toggles the antialias for ambient mode
      */
     public void shouldAntialiasInAmbientMode(boolean shouldAntialiasInAmbientMode) {
-        for (Map.Entry<String, Row> rowEntry : getAllRows().entrySet()) {
-            Row row = rowEntry.getValue();
-            for (Map.Entry<String, Column> columnEntry : row.getAllColumns().entrySet()) {
-                Column column = columnEntry.getValue();
-                column.shouldAntialiasInAmbientMode(shouldAntialiasInAmbientMode);
-            }
-        }
+        styleRegistry.shouldAntialiasInAmbientMode(shouldAntialiasInAmbientMode);
     }
 
     /**
      * Toggles the visible or not mode for all the columns
      */
     public void setIsVisible(boolean isVisible) {
-        for (Map.Entry<String, Row> rowEntry : getAllRows().entrySet()) {
-            Row row = rowEntry.getValue();
-            for (Map.Entry<String, Column> columnEntry : row.getAllColumns().entrySet()) {
-                Column column = columnEntry.getValue();
-                column.setIsVisible(isVisible);
-            }
+        for (Column column : getDisplayList().getColumns()) {
+            column.setIsVisible(isVisible);
         }
     }
 
-    public Integer getTextColor() {
-        return textColor;
+    public int getTextColor() {
+        return styleRegistry.getTextColor();
     }
 
-    public void setTextColor(Integer textColor) {
-        this.textColor = textColor;
-        for (Map.Entry<String, Row> rowEntry : getAllRows().entrySet()) {
-            Row row = rowEntry.getValue();
-            for (Map.Entry<String, Column> columnEntry : row.getAllColumns().entrySet()) {
-                Column column = columnEntry.getValue();
-                column.setTextDefaultColor(textColor);
-            }
-        }
+    /**
+     * Switches the theme of the style registry, the columns pick it up from there
+     */
+    public void setTextColor(int textColor) {
+        styleRegistry.setTextColor(textColor);
     }
 
     Integer getBackgroundColor() {
@@ -122,18 +151,34 @@ public class Grid {
         this.backgroundColor = backgroundColor;
     }
 
+    /**
+     * The color of the lower half of the background. Null paints it with the background color
+     */
+    Integer getSecondaryBackgroundColor() {
+        return secondaryBackgroundColor == null ? backgroundColor : secondaryBackgroundColor;
+    }
+
+    public void setSecondaryBackgroundColor(Integer secondaryBackgroundColor) {
+        this.secondaryBackgroundColor = secondaryBackgroundColor;
+    }
+
+    /**
+     * Switches to the colors of a theme
+     */
+    public void setPalette(Palette palette) {
+        setBackgroundColor(palette.getBackgroundColor());
+        setSecondaryBackgroundColor(palette.hasTwoColorBackground() ? palette.getSecondaryBackgroundColor() : null);
+        setTextColor(palette.getTextColor());
+    }
+
     public void invertColors() {
         setBackgroundColor(getBackgroundColor() == Color.BLACK ? Color.WHITE : Color.BLACK);
         setTextColor(getTextColor() == Color.WHITE ? Color.BLACK : Color.WHITE);
     }
 
     public void runTasks() {
-        for (Map.Entry<String, Row> rowEntry : getAllRows().entrySet()) {
-            Row row = rowEntry.getValue();
-            for (Map.Entry<String, Column> columnEntry : row.getAllColumns().entrySet()) {
-                Column column = columnEntry.getValue();
-                column.runTasks();
-            }
+        for (Column column : getDisplayList().getColumns()) {
+            column.runTasks();
         }
     }
 }
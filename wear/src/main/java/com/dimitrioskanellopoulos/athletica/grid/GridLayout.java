@@ -0,0 +1,186 @@
+package com.dimitrioskanellopoulos.athletica.grid;
+
+import android.graphics.Rect;
+
+import com.dimitrioskanellopoulos.athletica.grid.columns.Column;
+import com.dimitrioskanellopoulos.athletica.grid.rows.Row;
+
+/**
+ * Solves the absolute draw coordinates of every column of a display list and keeps them.
+ * The whole grid is solved again only when the bounds, the margins (insets) or the structure
+ * change. A single row is solved again when its layout version changes, which covers its text
+ * metrics and its margins, and its text unless the columns have width templates. Otherwise a
+ * frame only reads the cached coordinates
+ */
+class GridLayout {
+    private int boundsLeft;
+    private int boundsTop;
+    private int boundsRight;
+    private int boundsBottom;
+    private float topMargin;
+    private float bottomMargin;
+    private int displayListGeneration;
+    private boolean isSolved = false;
+    private int generation = 0;
+
+    private float rowHeight;
+    private float startingOffsetY;
+    private int[] rowLayoutVersions = new int[0];
+    private Rect[] rowBounds = new Rect[0];
+    private float[] columnsX = new float[0];
+    private float[] columnsY = new float[0];
+
+    /**
+     * Solves whatever changed since the last update
+     */
+    void update(Rect bounds, DisplayList displayList, float topMargin, float bottomMargin) {
+        if (!isSolved
+                || boundsLeft != bounds.left
+                || boundsTop != bounds.top
+                || boundsRight != bounds.right
+                || boundsBottom != bounds.bottom
+                || this.topMargin != topMargin
+                || this.bottomMargin != bottomMargin
+                || displayListGeneration != displayList.getGeneration()) {
+            solve(bounds, displayList, topMargin, bottomMargin);
+            return;
+        }
+        for (int i = 0; i < displayList.getRowCount(); i++) {
+            if (displayList.getRow(i).getLayoutVersion() != rowLayoutVersions[i]) {
+                solveRow(bounds, displayList, i);
+            }
+        }
+    }
+
+    private void solve(Rect bounds, DisplayList displayList, float topMargin, float bottomMargin) {
+        int rows = displayList.getRowCount();
+        int columns = displayList.getColumns().length;
+        if (rowBounds.length != rows) {
+            rowLayoutVersions = new int[rows];
+            rowBounds = new Rect[rows];
+            for (int i = 0; i < rows; i++) {
+                rowBounds[i] = new Rect();
+            }
+        }
+        if (columnsX.length != columns) {
+            columnsX = new float[columns];
+            columnsY = new float[columns];
+        }
+
+        boundsLeft = bounds.left;
+        boundsTop = bounds.top;
+        boundsRight = bounds.right;
+        boundsBottom = bounds.bottom;
+        this.topMargin = topMargin;
+        this.bottomMargin = bottomMargin;
+        displayListGeneration = displayList.getGeneration();
+
+        float totalHeight = bounds.height() - topMargin - bottomMargin;
+        rowHeight = (totalHeight + totalHeight / (rows - 1)) / (rows);
+        startingOffsetY = topMargin - rowHeight;
+
+        for (int i = 0; i < rows; i++) {
+            solveRow(bounds, displayList, i);
+        }
+        isSolved = true;
+        generation++;
+    }
+
+    /**
+     * Positions the columns of a row and sets its bounds to the area they cover. Horizontally
+     * that is the whole width since the row is centered on its content
+     */
+    private void solveRow(Rect bounds, DisplayList displayList, int rowIndex) {
+        Row row = displayList.getRow(rowIndex);
+        Column[] columns = displayList.getColumns();
+        int firstColumn = displayList.getFirstColumn(rowIndex);
+        int endColumn = displayList.getEndColumn(rowIndex);
+        rowLayoutVersions[rowIndex] = row.getLayoutVersion();
+        if (firstColumn == endColumn) {
+            rowBounds[rowIndex].setEmpty();
+            return;
+        }
+
+        float rowOffsetY = getRowOffsetY(rowIndex);
+        float top = Float.MAX_VALUE;
+        float bottom = -Float.MAX_VALUE;
+        float previousColumnOffsetY = rowHeight;
+        float cursor = bounds.exactCenterX() - row.getColumnsTotalWidth() * 0.5f;
+        for (int i = firstColumn; i < endColumn; i++) {
+            Column column = columns[i];
+            float columnOffsetY;
+            switch (column.getBaseline()) {
+                case Column.BASELINE_TOP:
+                    columnOffsetY = row.getColumnsMaxHeight();
+                    break;
+                case Column.BASELINE_MIDDLE:
+                    columnOffsetY = rowHeight / 2 + column.getHeight() / 2;
+                    break;
+                case Column.BASELINE_ABSOLUTE_CENTER:
+                    columnOffsetY = rowHeight / 2;
+                    break;
+                case Column.BASELINE_PREVIOUS:
+                    columnOffsetY = previousColumnOffsetY;
+                    break;
+                case Column.BASELINE_BOTTOM:
+                    columnOffsetY = rowOffsetY;
+                    break;
+                case Column.BASELINE_OVER_THE_TOP:
+                    columnOffsetY = 0f - column.getHeight();
+                    break;
+                default:
+                    columnOffsetY = column.getHeight();
+                    break;
+            }
+
+            // If it's bigger pretend it fits so we can get the middle position (center) easily
+            if (columnOffsetY > rowHeight) {
+                columnOffsetY = rowHeight;
+            }
+
+            columnsX[i] = cursor;
+            columnsY[i] = rowOffsetY + columnOffsetY;
+            top = Math.min(top, columnsY[i] + column.getPaint().ascent());
+            bottom = Math.max(bottom, columnsY[i] + column.getPaint().descent());
+
+            cursor += column.getWidth() + column.getHorizontalMargin();
+            previousColumnOffsetY = columnOffsetY;
+        }
+        // One pixel more on each side for the antialiasing
+        rowBounds[rowIndex].set(bounds.left, (int) Math.floor(top) - 1, bounds.right, (int) Math.ceil(bottom) + 1);
+    }
+
+    /**
+     * Changes whenever the whole grid was solved again
+     */
+    int getGeneration() {
+        return generation;
+    }
+
+    float getRowHeight() {
+        return rowHeight;
+    }
+
+    float getStartingOffsetY() {
+        return startingOffsetY;
+    }
+
+    float getRowOffsetY(int row) {
+        return startingOffsetY + row * rowHeight;
+    }
+
+    /**
+     * The area the row covers with its current layout
+     */
+    Rect getRowBounds(int row) {
+        return rowBounds[row];
+    }
+
+    float getColumnX(int column) {
+        return columnsX[column];
+    }
+
+    float getColumnY(int column) {
+        return columnsY[column];
+    }
+}
@@ -1,6 +1,5 @@
 package com.dimitrioskanellopoulos.athletica.grid;
 
-import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.Rect;
@@ -8,69 +7,198 @@ import android.graphics.Rect;
 import com.dimitrioskanellopoulos.athletica.BuildConfig;
 import com.dimitrioskanellopoulos.athletica.grid.columns.Column;
 import com.dimitrioskanellopoulos.athletica.grid.rows.Row;
+import com.dimitrioskanellopoulos.athletica.grid.targets.interfaces.RenderTargetInterface;
 
-import java.util.Map;
-import java.util.TreeMap;
-
+/**
+ * Renders a grid. It owns every paint it needs so drawing a frame does not allocate
+ */
 public class GridRenderer {
+    /**
+     * Every row is drawn on every frame
+     */
+    public static final int MODE_DIRECT = 0;
+    /**
+     * Static rows are retained in a bitmap where only the areas of dirty rows get repainted.
+     * Only the dynamic rows are drawn on top of it on every frame
+     */
+    public static final int MODE_LAYERED = 1;
+
     private static final String TAG = "GridRenderer";
 
-    public static void renderGrid(Canvas canvas, Rect bounds, Grid grid, float topMargin, float bottomMargin) {
+    private final Paint backgroundPaint = new Paint();
+    private final Paint tickPaint = new Paint();
+    private final InterlaceOverlay interlaceOverlay = new InterlaceOverlay();
+    private final Paint debugGreenPaint = new Paint();
+    private final Paint debugBluePaint = new Paint();
+
+    private int mode = MODE_DIRECT;
+
+    private RenderTargetInterface staticLayer;
+    private boolean isStaticLayerValid = false;
+    private int staticLayerLayoutGeneration;
+    private boolean[] staticLayerRowDynamic = new boolean[0];
+    private int staticLayerBackgroundColor;
+    private int staticLayerSecondaryBackgroundColor;
+    private final DamageRegion damageRegion = new DamageRegion();
+    private final Rect damageClip = new Rect();
+
+    private final GridLayout gridLayout = new GridLayout();
+
+    public GridRenderer() {
+        debugGreenPaint.setColor(Color.GREEN);
+        debugBluePaint.setColor(Color.BLUE);
+    }
+
+    public void setMode(int mode) {
+        this.mode = mode;
+        isStaticLayerValid = false;
+    }
 
-        drawBackground(canvas, bounds, grid.getBackgroundColor());
+    public void renderGrid(RenderTargetInterface target, Rect bounds, Grid grid, float topMargin, float bottomMargin) {
 
         // Get all the rows
-        TreeMap<String, Row> rows = grid.getAllRows();
+        DisplayList displayList = grid.getDisplayList();
+        int rows = displayList.getRowCount();
 
-        float totalHeight = bounds.height() - topMargin - bottomMargin;
-        float rowHeight;
+        gridLayout.update(bounds, displayList, topMargin, bottomMargin);
+
+        if (mode == MODE_LAYERED) {
+            updateStaticLayer(target, bounds, grid, displayList, grid.getBackgroundColor(), grid.getSecondaryBackgroundColor());
+            target.drawLayer(staticLayer, 0, 0);
+        } else {
+            drawBackground(target, bounds, grid.getBackgroundColor(), grid.getSecondaryBackgroundColor());
+        }
 
-        rowHeight = (totalHeight + totalHeight / (rows.size() - 1)) / (rows.size());
-        float startingOffsetY = topMargin - rowHeight;
         if (BuildConfig.DEBUG) {
+            float totalHeight = bounds.height() - topMargin - bottomMargin;
             // Do the setBaseline
-            Paint bluePaint = new Paint();
-            bluePaint.setColor(Color.BLUE);
-            canvas.drawLine(bounds.left, bounds.exactCenterY(), bounds.right, bounds.exactCenterY(), bluePaint);
+            target.drawLine(bounds.left, bounds.exactCenterY(), bounds.right, bounds.exactCenterY(), debugBluePaint);
             // Do the bottom
-            canvas.drawLine(bounds.left, bounds.exactCenterY() + totalHeight - 1.0f, bounds.right, bounds.exactCenterY() + totalHeight - 1.0f, bluePaint);
+            target.drawLine(bounds.left, bounds.exactCenterY() + totalHeight - 1.0f, bounds.right, bounds.exactCenterY() + totalHeight - 1.0f, debugBluePaint);
             // Do the middle
-            canvas.drawLine(bounds.exactCenterY(), bounds.top, bounds.exactCenterY(), bounds.bottom, bluePaint);
+            target.drawLine(bounds.exactCenterY(), bounds.top, bounds.exactCenterY(), bounds.bottom, debugBluePaint);
         }
 
-        int rowCount = 0;
-        for (Map.Entry<String, Row> rowEntry : rows.entrySet()) {
-            Row row = rowEntry.getValue();
-            float rowOffsetY = startingOffsetY + rowCount * rowHeight;
+        for (int rowCount = 0; rowCount < rows; rowCount++) {
             if (BuildConfig.DEBUG) {
-                Paint greenPaint = new Paint();
-                greenPaint.setColor(Color.GREEN);
-                canvas.drawLine(bounds.left, rowOffsetY, bounds.right, rowOffsetY, greenPaint);
+                target.drawLine(bounds.left, gridLayout.getRowOffsetY(rowCount), bounds.right, gridLayout.getRowOffsetY(rowCount), debugGreenPaint);
             }
 
-            drawRow(canvas, bounds, row, rowOffsetY, rowHeight);
+            if (mode != MODE_LAYERED || displayList.getRow(rowCount).isDynamic()) {
+                drawRow(target, bounds, displayList, rowCount);
+            }
 
-            rowCount++;
-            //Log.d(TAG, "Drew row " + rowCount + " offsetY " + rowOffsetY);
+            //Log.d(TAG, "Drew row " + rowCount + " offsetY " + gridLayout.getRowOffsetY(rowCount));
         }
 
         if (BuildConfig.DEBUG) {
-            Paint greenPaint = new Paint();
-            greenPaint.setColor(Color.GREEN);
-            canvas.drawLine(bounds.left, startingOffsetY + rowCount * rowHeight, bounds.right, startingOffsetY + rowCount * rowHeight, greenPaint);
+            target.drawLine(bounds.left, gridLayout.getRowOffsetY(rows), bounds.right, gridLayout.getRowOffsetY(rows), debugGreenPaint);
+        }
+    }
+
+    /**
+     * Keeps the static layer up to date. When the surface, the layout, the background or the
+     * rows themselves changed it is redrawn completely. Otherwise only the area of the dirty rows
+     * is cleared and the rows in it are repainted over the retained pixels
+     */
+    private void updateStaticLayer(RenderTargetInterface target, Rect bounds, Grid grid, DisplayList displayList, int backgroundColor, int secondaryBackgroundColor) {
+        if (staticLayer == null || staticLayer.getWidth() != bounds.right || staticLayer.getHeight() != bounds.bottom) {
+            if (staticLayer != null) {
+                staticLayer.release();
+            }
+            staticLayer = target.createLayer(bounds.right, bounds.bottom);
+            isStaticLayerValid = false;
+        }
+        if (!isStaticLayerValid || !isStaticLayerLayoutCurrent(displayList, backgroundColor, secondaryBackgroundColor)) {
+            redrawStaticLayer(bounds, displayList, backgroundColor, secondaryBackgroundColor);
+            return;
+        }
+        if (!grid.getDirtyRegion(damageRegion)) {
+            return;
+        }
+
+        // A dirty row might now cover more than it used to so its new bounds are damaged too
+        for (int i = 0; i < displayList.getRowCount(); i++) {
+            if (displayList.getRow(i).isDirty()) {
+                damageRegion.union(gridLayout.getRowBounds(i));
+            }
+        }
+
+        damageRegion.copyTo(damageClip);
+        staticLayer.save();
+        staticLayer.clipRect(damageClip);
+        drawBackground(staticLayer, bounds, backgroundColor, secondaryBackgroundColor);
+        for (int i = 0; i < displayList.getRowCount(); i++) {
+            Row row = displayList.getRow(i);
+            if (row.isDynamic()) {
+                continue;
+            }
+            if (row.isDirty() || damageRegion.intersects(row.getBounds())) {
+                drawRetainedRow(staticLayer, bounds, displayList, i);
+            }
+        }
+        staticLayer.restore();
+    }
+
+    private void redrawStaticLayer(Rect bounds, DisplayList displayList, int backgroundColor, int secondaryBackgroundColor) {
+        if (staticLayerRowDynamic.length != displayList.getRowCount()) {
+            staticLayerRowDynamic = new boolean[displayList.getRowCount()];
+        }
+        drawBackground(staticLayer, bounds, backgroundColor, secondaryBackgroundColor);
+        for (int i = 0; i < displayList.getRowCount(); i++) {
+            staticLayerRowDynamic[i] = displayList.getRow(i).isDynamic();
+            if (staticLayerRowDynamic[i]) {
+                continue;
+            }
+            drawRetainedRow(staticLayer, bounds, displayList, i);
         }
+        staticLayerLayoutGeneration = gridLayout.getGeneration();
+        staticLayerBackgroundColor = backgroundColor;
+        staticLayerSecondaryBackgroundColor = secondaryBackgroundColor;
+        isStaticLayerValid = true;
+    }
+
+    private boolean isStaticLayerLayoutCurrent(DisplayList displayList, int backgroundColor, int secondaryBackgroundColor) {
+        if (gridLayout.getGeneration() != staticLayerLayoutGeneration
+                || backgroundColor != staticLayerBackgroundColor
+                || secondaryBackgroundColor != staticLayerSecondaryBackgroundColor) {
+            return false;
+        }
+        for (int i = 0; i < displayList.getRowCount(); i++) {
+            if (displayList.getRow(i).isDynamic() != staticLayerRowDynamic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Draws a row into the static layer and remembers where and at what version it was drawn
+     */
+    private void drawRetainedRow(RenderTargetInterface target, Rect bounds, DisplayList displayList, int row) {
+        drawRow(target, bounds, displayList, row);
+        displayList.getRow(row).getBounds().set(gridLayout.getRowBounds(row));
+        displayList.getRow(row).markDrawn();
     }
 
-    private static void drawBackground(Canvas canvas, Rect bounds, int color) {
-        Paint backgroundPaint = new Paint();
+    /**
+     * Paints the background, the lower half in the secondary color when it is split
+     */
+    private void drawBackground(RenderTargetInterface target, Rect bounds, int color, int secondaryColor) {
         backgroundPaint.setColor(color);
-        canvas.drawRect(0, 0, bounds.width(), bounds.height(), backgroundPaint);
+        if (color == secondaryColor) {
+            target.drawRect(0, 0, bounds.width(), bounds.height(), backgroundPaint);
+            return;
+        }
+        float middle = bounds.height() / 2.0f;
+        target.drawRect(0, 0, bounds.width(), middle, backgroundPaint);
+        backgroundPaint.setColor(secondaryColor);
+        target.drawRect(0, middle, bounds.width(), bounds.height(), backgroundPaint);
     }
 
-    public static void drawTicks(Canvas canvas, Rect bounds, int color, float strokeWidth) {
-        Paint tickPaing = new Paint();
-        tickPaing.setColor(color);
-        tickPaing.setStrokeWidth(strokeWidth);
+    public void drawTicks(RenderTargetInterface target, Rect bounds, int color, float strokeWidth) {
+        tickPaint.setColor(color);
+        tickPaint.setStrokeWidth(strokeWidth);
 
         float innerTickRadius = bounds.exactCenterX() - 20;
         float outerTickRadius = bounds.exactCenterX();
@@ -80,83 +208,36 @@ public class GridRenderer {
             float innerY = (float) -Math.cos(tickRot) * innerTickRadius;
             float outerX = (float) Math.sin(tickRot) * outerTickRadius;
             float outerY = (float) -Math.cos(tickRot) * outerTickRadius;
-            canvas.drawLine(bounds.exactCenterX() + innerX, bounds.exactCenterX() + innerY,
-                    bounds.exactCenterX() + outerX, bounds.exactCenterX() + outerY, tickPaing);
+            target.drawLine(bounds.exactCenterX() + innerX, bounds.exactCenterX() + innerY,
+                    bounds.exactCenterX() + outerX, bounds.exactCenterX() + outerY, tickPaint);
         }
     }
 
-    public static void interlaceCanvas(Canvas canvas, Rect bounds, int color, int alpha) {
-        Paint interlacePaint = new Paint();
-        interlacePaint.setColor(color);
-        interlacePaint.setAlpha(alpha);
-        for (int y = 0; y < bounds.bottom; y += 2) {
-            canvas.drawLine(0, y, bounds.right, y, interlacePaint);
-        }
-        for (int x = 0; x < bounds.right; x += 2) {
-            canvas.drawLine(x, 0, x, bounds.bottom, interlacePaint);
-        }
+    public void interlaceCanvas(RenderTargetInterface target, Rect bounds, int color, int alpha) {
+        interlaceOverlay.draw(target, bounds, color, alpha);
     }
 
-    private static void drawRow(Canvas canvas, Rect bounds, Row row, float startingOffsetY, float rowHeight) {
+    /**
+     * Draws the columns of a row at the coordinates the layout solved for them
+     */
+    private void drawRow(RenderTargetInterface target, Rect bounds, DisplayList displayList, int row) {
+        float rowOffsetY = gridLayout.getRowOffsetY(row);
+        float rowHeight = gridLayout.getRowHeight();
         if (BuildConfig.DEBUG) {
-            Paint greenPaint = new Paint();
-            greenPaint.setColor(Color.GREEN);
-            canvas.drawLine(bounds.left, startingOffsetY, bounds.right, startingOffsetY, greenPaint);
+            target.drawLine(bounds.left, rowOffsetY, bounds.right, rowOffsetY, debugGreenPaint);
         }
 
-        float previousColumnOffsetY = rowHeight;
-        float cursor = bounds.exactCenterX() - row.getColumnsTotalWidth() * 0.5f;
-        for (Map.Entry<String, Column> columnEntry : row.getAllColumns().entrySet()) {
-            Column column = columnEntry.getValue();
+        Column[] columns = displayList.getColumns();
+        for (int i = displayList.getFirstColumn(row); i < displayList.getEndColumn(row); i++) {
+            Column column = columns[i];
+            float columnX = gridLayout.getColumnX(i);
             if (BuildConfig.DEBUG) {
-                Paint greenPaint = new Paint();
-                greenPaint.setColor(Color.GREEN);
-                Paint bluePaint = new Paint();
-                bluePaint.setColor(Color.BLUE);
-                canvas.drawLine(cursor, startingOffsetY, cursor, startingOffsetY + rowHeight, greenPaint);
-                canvas.drawLine(cursor + column.getHorizontalMargin() + column.getWidth(), startingOffsetY, cursor + column.getHorizontalMargin() + column.getWidth(), startingOffsetY + rowHeight, bluePaint);
-            }
-
-
-            float columnOffsetY;
-            switch (column.getBaseline()) {
-                case Column.BASELINE_TOP:
-                    columnOffsetY = row.getColumnsMaxHeight();
-                    break;
-                case Column.BASELINE_MIDDLE:
-                    columnOffsetY = rowHeight / 2 + column.getHeight() / 2;
-                    break;
-                case Column.BASELINE_ABSOLUTE_CENTER:
-                    columnOffsetY = rowHeight / 2;
-                    break;
-                case Column.BASELINE_PREVIOUS:
-                    columnOffsetY = previousColumnOffsetY;
-                    break;
-                case Column.BASELINE_BOTTOM:
-                    columnOffsetY = startingOffsetY;
-                    break;
-                case Column.BASELINE_OVER_THE_TOP:
-                    columnOffsetY = 0f - column.getHeight();
-                    break;
-                default:
-                    columnOffsetY = column.getHeight();
-                    break;
-            }
-
-            // If it's bigger pretend it fits so we can get the middle position (center) easily
-            if (columnOffsetY > rowHeight) {
-                columnOffsetY = rowHeight;
+                target.drawLine(columnX, rowOffsetY, columnX, rowOffsetY + rowHeight, debugGreenPaint);
+                target.drawLine(columnX + column.getHorizontalMargin() + column.getWidth(), rowOffsetY, columnX + column.getHorizontalMargin() + column.getWidth(), rowOffsetY + rowHeight, debugBluePaint);
             }
 
             // Draw the column
-            canvas.drawText(column.getText(), cursor, startingOffsetY + columnOffsetY, column.getPaint()); // check if it needs per column height
-
-            // canvas.drawText(column.getText(), cursor, rowOffsetY + rowHeight, column.getPaint()); // check if it needs per column height
-            cursor += column.getWidth() + column.getHorizontalMargin();
-
-            previousColumnOffsetY = columnOffsetY;
-
-            //Log.d(TAG, "Drew column cursor " + cursor);
+            column.draw(target, columnX, gridLayout.getColumnY(i));
         }
     }
 }
@@ -0,0 +1,56 @@
+package com.dimitrioskanellopoulos.athletica.grid;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapShader;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.Shader;
+
+import com.dimitrioskanellopoulos.athletica.grid.targets.interfaces.RenderTargetInterface;
+
+/**
+ * The interlace (scanline) effect as a 2x2 tile repeated by a shader.
+ * It is composited with a single draw call and the tile is only rebuilt when the color or the
+ * alpha changes. Being a repeating shader it does not depend on the surface size.
+ */
+class InterlaceOverlay {
+    private static final int TILE_SIZE = 2;
+
+    private final Paint paint = new Paint();
+    private final int[] tilePixels = new int[TILE_SIZE * TILE_SIZE];
+    private Bitmap tile;
+    private boolean hasTile = false;
+    private int color;
+    private int alpha;
+
+    void draw(RenderTargetInterface target, Rect bounds, int color, int alpha) {
+        if (!hasTile || this.color != color || this.alpha != alpha) {
+            buildTile(color, alpha);
+        }
+        target.drawRect(0, 0, bounds.right, bounds.bottom, paint);
+    }
+
+    /**
+     * Every even row and every even column used to get a line so the pixel where they cross
+     * is blended twice, the ones on a single line once and the rest are left untouched
+     */
+    private void buildTile(int color, int alpha) {
+        int crossingAlpha = alpha + alpha * (255 - alpha) / 255;
+        int red = Color.red(color);
+        int green = Color.green(color);
+        int blue = Color.blue(color);
+        tilePixels[0] = Color.argb(crossingAlpha, red, green, blue);
+        tilePixels[1] = Color.argb(alpha, red, green, blue);
+        tilePixels[TILE_SIZE] = Color.argb(alpha, red, green, blue);
+        tilePixels[TILE_SIZE + 1] = Color.TRANSPARENT;
+        if (tile != null) {
+            tile.recycle();
+        }
+        tile = Bitmap.createBitmap(tilePixels, TILE_SIZE, TILE_SIZE, Bitmap.Config.ARGB_8888);
+        paint.setShader(new BitmapShader(tile, Shader.TileMode.REPEAT, Shader.TileMode.REPEAT));
+        this.color = color;
+        this.alpha = alpha;
+        hasTile = true;
+    }
+}
@@ -5,18 +5,21 @@ import android.graphics.Typeface;
 import android.util.Log;
 
 import com.dimitrioskanellopoulos.athletica.grid.columns.abstracts.CalendarColumn;
+import com.dimitrioskanellopoulos.athletica.grid.styles.StyleRegistry;
+import com.dimitrioskanellopoulos.athletica.grid.targets.interfaces.RenderTargetInterface;
 
-import org.apache.commons.lang3.time.FastDateFormat;
-
+import java.text.DateFormatSymbols;
 import java.util.Locale;
-import java.util.TimeZone;
 
 public class AmPmColumn extends CalendarColumn {
     private static final String TAG = "AmPmColumn";
-    private final static FastDateFormat TIME_FORMAT = FastDateFormat.getInstance("a", TimeZone.getDefault(), Locale.getDefault());
+    private final static String[] AM_PM_STRINGS = DateFormatSymbols.getInstance(Locale.getDefault()).getAmPmStrings();
+    private final GlyphAtlas glyphAtlas = new GlyphAtlas(AM_PM_STRINGS);
+    private final ClockFormatter clockFormatter = new ClockFormatter();
 
-    public AmPmColumn(Context context, Typeface paintTypeface, Float paintTextSize, int paintColor, Boolean visible, Boolean ambientMode) {
-        super(context, paintTypeface, paintTextSize, paintColor);
+    public AmPmColumn(Context context, StyleRegistry styleRegistry, Typeface paintTypeface, Float paintTextSize, Boolean visible, Boolean ambientMode) {
+        super(context, styleRegistry, paintTypeface, paintTextSize);
+        setWidthTemplate(AM_PM_STRINGS[0].length() >= AM_PM_STRINGS[1].length() ? AM_PM_STRINGS[0] : AM_PM_STRINGS[1]);
     }
 
     @Override
@@ -27,8 +30,13 @@ public class AmPmColumn extends CalendarColumn {
 
     @Override
     public String getText() {
-        CALENDAR.setTimeInMillis(System.currentTimeMillis());
-        return TIME_FORMAT.format(CALENDAR.getTime());
+        clockFormatter.format(System.currentTimeMillis(), CALENDAR.getTimeZone());
+        return AM_PM_STRINGS[clockFormatter.isAm() ? 0 : 1];
+    }
+
+    @Override
+    public void draw(RenderTargetInterface target, float x, float y) {
+        glyphAtlas.drawText(target, getText(), x + getTextOffsetX(), y, getPaint());
     }
 
     @Override
@@ -7,6 +7,9 @@ import android.util.Log;
 
 import com.dimitrioskanellopoulos.athletica.R;
 import com.dimitrioskanellopoulos.athletica.grid.columns.abstracts.BatteryColumn;
+import com.dimitrioskanellopoulos.athletica.grid.styles.ColumnStyle;
+import com.dimitrioskanellopoulos.athletica.grid.styles.StyleRegistry;
+import com.dimitrioskanellopoulos.athletica.grid.targets.interfaces.RenderTargetInterface;
 
 public class BatteryIconColumn extends BatteryColumn {
     private static final String TAG = "BatteryIconColumn";
@@ -16,20 +19,35 @@ public class BatteryIconColumn extends BatteryColumn {
     private final String batteryHalfIcon;
     private final String batteryThreeQuartersIcon;
     private final String batteryFullIcon;
+    private final ColumnStyle batteryEmptyStyle;
+    private final IconGlyphCache iconGlyphCache;
 
-    public BatteryIconColumn(Context context, Typeface paintTypeface, Float paintTextSize, int paintColor, Boolean visible, Boolean ambientMode) {
-        super(context, paintTypeface, paintTextSize, paintColor);
+    public BatteryIconColumn(Context context, StyleRegistry styleRegistry, Typeface paintTypeface, Float paintTextSize, Boolean visible, Boolean ambientMode) {
+        super(context, styleRegistry, paintTypeface, paintTextSize);
         batteryEmptyIcon = this.context.getResources().getString(R.string.icon_battery_empty);
         batteryQuarterIcon = this.context.getResources().getString(R.string.icon_battery_one_quarter);
         batteryHalfIcon = this.context.getResources().getString(R.string.icon_battery_half);
         batteryThreeQuartersIcon = this.context.getResources().getString(R.string.icon_battery_three_quarters);
         batteryFullIcon = this.context.getResources().getString(R.string.icon_battery_full);
+        iconGlyphCache = new IconGlyphCache(batteryEmptyIcon, batteryQuarterIcon, batteryHalfIcon, batteryThreeQuartersIcon, batteryFullIcon);
+        ColumnStyle style = super.getStyle();
+        batteryEmptyStyle = getStyleRegistry().getStyle(style.getTypeface(), style.getTextSize(), style.getFontFeatureSettings(), Color.RED);
+    }
+
+    /**
+     * Red for an empty battery, except in ambient mode
+     */
+    @Override
+    protected ColumnStyle getStyle() {
+        if (batteryLevel < 20 && !isInAmbientMode()) {
+            return batteryEmptyStyle;
+        }
+        return super.getStyle();
     }
 
     @Override
     public String getText() {
         String icon;
-        getPaint().setColor(getTextDefaultColor());
         if (batteryLevel > 80 && batteryLevel <= 100) {
             icon = batteryFullIcon;
         } else if (batteryLevel > 60 && batteryLevel <= 80) {
@@ -39,16 +57,20 @@ public class BatteryIconColumn extends BatteryColumn {
         } else if (batteryLevel >= 20 && batteryLevel <= 40) {
             icon = batteryQuarterIcon;
         } else {
-            if (!isInAmbientMode()) {
-                getPaint().setColor(Color.RED);
-            }
             icon = batteryEmptyIcon;
         }
         return icon;
     }
 
+    @Override
+    public void draw(RenderTargetInterface target, float x, float y) {
+        iconGlyphCache.drawIcon(target, getText(), x + getTextOffsetX(), y, getPaint(), getStyleRegistry());
+    }
+
     @Override
     public void destroy() {
+        iconGlyphCache.release();
         Log.d(TAG, "Destroyed");
+        super.destroy();
     }
 }
@@ -4,19 +4,22 @@ import android.content.Context;
 import android.graphics.Typeface;
 
 import com.dimitrioskanellopoulos.athletica.grid.columns.abstracts.BatteryColumn;
-
-import java.text.DecimalFormat;
+import com.dimitrioskanellopoulos.athletica.grid.styles.StyleRegistry;
 
 public class BatteryLevelColumn extends BatteryColumn {
     private static final String TAG = "BatteryIconColumn";
+    private final NumberFormatter numberFormatter = new NumberFormatter();
 
-    public BatteryLevelColumn(Context context, Typeface paintTypeface, Float paintTextSize, int paintColor, Boolean visible, Boolean ambientMode) {
-        super(context, paintTypeface, paintTextSize, paintColor);
+    public BatteryLevelColumn(Context context, StyleRegistry styleRegistry, Typeface paintTypeface, Float paintTextSize, Boolean visible, Boolean ambientMode) {
+        super(context, styleRegistry, paintTypeface, paintTextSize);
+        setWidthTemplate("100%");
     }
 
+    /**
+     * The same String on every frame until the level changes
+     */
     @Override
     public String getText() {
-        DecimalFormat decimalFormat = new DecimalFormat("##");
-        return decimalFormat.format(batteryLevel) + "%";
+        return numberFormatter.formatPercent(batteryLevel);
     }
 }
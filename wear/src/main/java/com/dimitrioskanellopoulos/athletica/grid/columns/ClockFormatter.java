@@ -0,0 +1,124 @@
+package com.dimitrioskanellopoulos.athletica.grid.columns;
+
+import java.util.TimeZone;
+
+/**
+ * Formats the time of day into a reused char buffer without allocating. The digits come straight
+ * from the epoch millis plus the offset of the time zone, which is looked up again only when a new
+ * quarter of an hour starts since zone transitions happen on those. Formatting the same second
+ * again does nothing and the next second of the same minute only rewrites the seconds.
+ * The hours follow the "k" (1-24) and "h" (1-12) patterns, without a leading zero
+ */
+public class ClockFormatter {
+    private static final long SECOND_IN_MS = 1000;
+    private static final long OFFSET_CHECK_MS = 15 * 60 * 1000;
+    private static final int SECONDS_IN_DAY = 24 * 60 * 60;
+
+    private final char[] buffer = new char["88:88:88".length()];
+    private int length = 0;
+    private boolean is24Hour = true;
+    private boolean withSeconds = false;
+
+    private TimeZone timeZone;
+    private long offsetValidFrom;
+    private long offsetValidUntil;
+    private int offset;
+
+    private boolean isFormatted = false;
+    private long formattedSecond;
+    private int hourOfDay;
+    private int version = 0;
+
+    public void setFormat(boolean is24Hour, boolean withSeconds) {
+        if (is24Hour == this.is24Hour && withSeconds == this.withSeconds) {
+            return;
+        }
+        this.is24Hour = is24Hour;
+        this.withSeconds = withSeconds;
+        isFormatted = false;
+    }
+
+    /**
+     * Formats the given time unless the buffer already holds it
+     */
+    public void format(long timeMs, TimeZone timeZone) {
+        long localSecond = (timeMs + getOffset(timeMs, timeZone)) / SECOND_IN_MS;
+        if (isFormatted && localSecond == formattedSecond) {
+            return;
+        }
+        int secondOfDay = (int) (localSecond % SECONDS_IN_DAY);
+        int second = secondOfDay % 60;
+        if (isFormatted && withSeconds && localSecond == formattedSecond + 1 && second != 0) {
+            writeTwoDigits(length - 2, second);
+        } else {
+            hourOfDay = secondOfDay / 3600;
+            int hour;
+            if (is24Hour) {
+                hour = hourOfDay == 0 ? 24 : hourOfDay;
+            } else {
+                hour = hourOfDay % 12 == 0 ? 12 : hourOfDay % 12;
+            }
+            length = 0;
+            if (hour >= 10) {
+                buffer[length++] = (char) ('0' + hour / 10);
+            }
+            buffer[length++] = (char) ('0' + hour % 10);
+            buffer[length++] = ':';
+            writeTwoDigits(length, secondOfDay / 60 % 60);
+            length += 2;
+            if (withSeconds) {
+                buffer[length++] = ':';
+                writeTwoDigits(length, second);
+                length += 2;
+            }
+        }
+        formattedSecond = localSecond;
+        isFormatted = true;
+        version++;
+    }
+
+    private void writeTwoDigits(int index, int value) {
+        buffer[index] = (char) ('0' + value / 10);
+        buffer[index + 1] = (char) ('0' + value % 10);
+    }
+
+    private int getOffset(long timeMs, TimeZone timeZone) {
+        if (timeZone != this.timeZone || timeMs < offsetValidFrom || timeMs >= offsetValidUntil) {
+            this.timeZone = timeZone;
+            offset = timeZone.getOffset(timeMs);
+            offsetValidFrom = timeMs - timeMs % OFFSET_CHECK_MS;
+            offsetValidUntil = offsetValidFrom + OFFSET_CHECK_MS;
+        }
+        return offset;
+    }
+
+    /**
+     * The formatted time is the first {@link #getLength()} chars. Do not modify it
+     */
+    public char[] getBuffer() {
+        return buffer;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public boolean isAm() {
+        return hourOfDay < 12;
+    }
+
+    /**
+     * Changes whenever the formatted text changes
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Allocates. Only for whoever needs the text as a String
+     */
+    @Override
+    public String toString() {
+        return new String(buffer, 0, length);
+    }
+}
@@ -2,93 +2,189 @@ package com.dimitrioskanellopoulos.athletica.grid.columns;
 
 import android.content.Context;
 import android.graphics.Paint;
-import android.graphics.Rect;
 import android.graphics.Typeface;
 import android.util.Log;
 
 import com.dimitrioskanellopoulos.athletica.grid.columns.interfaces.ColumnInterface;
+import com.dimitrioskanellopoulos.athletica.grid.styles.ColumnStyle;
+import com.dimitrioskanellopoulos.athletica.grid.styles.StyleRegistry;
+import com.dimitrioskanellopoulos.athletica.grid.targets.interfaces.RenderTargetInterface;
 
 public class Column implements ColumnInterface {
     private final static String TAG = "Column";
     protected final Context context;
 
-    private final Paint paint = new Paint();
+    private final StyleRegistry styleRegistry;
+    private final TextMetricsCache textMetricsCache = new TextMetricsCache();
+    private final TextMetricsCache widthTemplateMetricsCache = new TextMetricsCache();
     private Boolean ambientMode = false;
-    private Boolean shouldAntialiasInAmbientMode = false;
     private Boolean visible = true;
     private Integer baseline = BASELINE_MIDDLE;
     private String text = "\u21bb";
     private Float horizontalMargin = 0.0f;
-    private Integer textDefaultColor;
-
-    public Column(Context context, Typeface paintTypeface, Float paintTextSize, int paintColor) {
+    private String widthTemplate;
+    private Typeface typeface;
+    private float textSize;
+    private ColumnStyle style;
+    private int version = 0;
+    private int layoutVersion = 0;
+
+    /**
+     * The color comes from the theme of the style registry, which should be the one of the grid
+     * the column is put in
+     */
+    public Column(Context context, StyleRegistry styleRegistry, Typeface paintTypeface, Float paintTextSize) {
         this.context = context.getApplicationContext();
-        getPaint().setTypeface(paintTypeface);
-        getPaint().setTextSize(paintTextSize);
-        setTextDefaultColor(paintColor);
+        this.styleRegistry = styleRegistry;
+        typeface = paintTypeface;
+        textSize = paintTextSize;
+        updateStyle();
     }
 
+    /**
+     * The look of ambient mode comes from the style registry, this only keeps the column's own
+     * behaviour in sync
+     */
     @Override
     public void setAmbientMode(Boolean ambientMode) {
-        //getPaint().setColor();
         this.ambientMode = ambientMode;
-        getPaint().setAntiAlias(!ambientMode || shouldAntialiasInAmbientMode);
+        incrementVersion();
     }
 
     @Override
-    public void setBurnInProtection(Boolean burnInProtection) {
-        Log.d(TAG, "BurnInProtection: " + burnInProtection);
+    public String getText() {
+        return text;
     }
 
     @Override
-    public void setLowBitAmbient(Boolean lowBitAmbient) {
-        Log.d(TAG, "LowBitAmbientMode: " + lowBitAmbient);
+    public void setText(String text) {
+        if (!text.equals(this.text)) {
+            textMetricsCache.invalidate();
+            incrementVersion();
+        }
+        this.text = text;
     }
 
+    /**
+     * Draws the text with its baseline starting at x, y
+     */
     @Override
-    public void shouldAntialiasInAmbientMode(Boolean shouldAntialiasInAmbientMode) {
-        Log.d(TAG, "shouldAntialiasInAmbientMode" + shouldAntialiasInAmbientMode.toString());
-        this.shouldAntialiasInAmbientMode = shouldAntialiasInAmbientMode;
+    public void draw(RenderTargetInterface target, float x, float y) {
+        target.drawText(getText(), x + getTextOffsetX(), y, getPaint());
+    }
+
+    /**
+     * How far the text starts into its slot. Text narrower than the width template is centered
+     */
+    protected float getTextOffsetX() {
+        if (widthTemplate == null) {
+            return 0f;
+        }
+        return (getWidth() - textMetricsCache.getWidth(getPaint(), getText())) * 0.5f;
     }
 
+    /**
+     * The shared paint of the column's style for the current theme and ambient look.
+     * Do not modify it, change the style instead
+     */
     @Override
-    public String getText() {
-        return text;
+    public Paint getPaint() {
+        return styleRegistry.getPaint(getStyle());
+    }
+
+    protected ColumnStyle getStyle() {
+        return style;
+    }
+
+    protected StyleRegistry getStyleRegistry() {
+        return styleRegistry;
+    }
+
+    protected void setTextSize(float textSize) {
+        if (textSize == this.textSize) {
+            return;
+        }
+        this.textSize = textSize;
+        updateStyle();
+        invalidateTextMetrics();
+    }
+
+    /**
+     * Width templates use tabular figures so digits inside the slot do not shift each other around
+     */
+    private void updateStyle() {
+        style = styleRegistry.getStyle(typeface, textSize, widthTemplate == null ? null : "tnum", null);
     }
 
     @Override
-    public void setText(String text) {
-        this.text = text;
+    public float getHeight() {
+        if (widthTemplate != null) {
+            return widthTemplateMetricsCache.getHeight(getPaint(), widthTemplate);
+        }
+        return textMetricsCache.getHeight(getPaint(), getText());
     }
 
     @Override
-    public Integer getTextDefaultColor() {
-        return textDefaultColor;
+    public float getWidth() {
+        if (widthTemplate != null) {
+            return widthTemplateMetricsCache.getWidth(getPaint(), widthTemplate);
+        }
+        return textMetricsCache.getWidth(getPaint(), getText());
+    }
+
+    /**
+     * Drops the cached width and height. Call it after changing the typeface or the size
+     */
+    protected void invalidateTextMetrics() {
+        textMetricsCache.invalidate();
+        widthTemplateMetricsCache.invalidate();
+        invalidateLayout();
     }
 
     @Override
-    public void setTextDefaultColor(Integer color) {
-        this.textDefaultColor = color;
-        getPaint().setColor(textDefaultColor);
+    public String getWidthTemplate() {
+        return widthTemplate;
     }
 
     @Override
-    public Paint getPaint() {
-        return paint;
+    public void setWidthTemplate(String widthTemplate) {
+        if (widthTemplate == null ? this.widthTemplate == null : widthTemplate.equals(this.widthTemplate)) {
+            return;
+        }
+        this.widthTemplate = widthTemplate;
+        updateStyle();
+        invalidateTextMetrics();
     }
 
+    /**
+     * Changes whenever something that affects how the column looks changes.
+     * Columns that compute their text on the fly should mix in whatever their text depends on.
+     * A switch of the theme or the ambient look changes every column
+     */
     @Override
-    public Float getHeight() {
-        // If no text no height for now
-        Rect textBounds = new Rect();
-        getPaint().getTextBounds(getText(), 0, getText().length(), textBounds);
-        return (float) textBounds.height();
+    public int getVersion() {
+        return 31 * version + styleRegistry.getVersion();
+    }
+
+    protected void incrementVersion() {
+        version++;
     }
 
+    /**
+     * Columns with a width template keep their layout whatever their text is. The rest
+     * depend on their text so any change of theirs might move them
+     */
     @Override
-    public Float getWidth() {
-        // If not text no width;
-        return getPaint().measureText(getText());
+    public int getLayoutVersion() {
+        if (widthTemplate == null) {
+            return getVersion();
+        }
+        return 31 * layoutVersion + styleRegistry.getVersion();
+    }
+
+    protected void invalidateLayout() {
+        layoutVersion++;
+        incrementVersion();
     }
 
     @Override
@@ -98,6 +194,9 @@ public class Column implements ColumnInterface {
 
     @Override
     public void setHorizontalMargin(Float horizontalMargin) {
+        if (!horizontalMargin.equals(this.horizontalMargin)) {
+            invalidateLayout();
+        }
         this.horizontalMargin = horizontalMargin;
     }
 
@@ -108,6 +207,9 @@ public class Column implements ColumnInterface {
 
     @Override
     public void setBaseline(Integer baseline) {
+        if (!baseline.equals(this.baseline)) {
+            invalidateLayout();
+        }
         this.baseline = baseline;
     }
 
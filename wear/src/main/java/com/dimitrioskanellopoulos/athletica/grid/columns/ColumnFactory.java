@@ -5,63 +5,64 @@ import android.graphics.Typeface;
 import android.hardware.Sensor;
 
 import com.dimitrioskanellopoulos.athletica.R;
+import com.dimitrioskanellopoulos.athletica.grid.styles.StyleRegistry;
 import com.dimitrioskanellopoulos.athletica.sensors.CallbackSensor;
 
 public class ColumnFactory {
-    public static Column getIconColumnForSensorType(Context context, Integer sensorType, Typeface paintTypeface, Float paintTextSize, int paintColor, Boolean visible, Boolean ambientMode) {
-        Column sensorIconColumn = new Column(context, paintTypeface, paintTextSize, paintColor);
+    public static Column getIconColumnForSensorType(Context context, StyleRegistry styleRegistry, Integer sensorType, Typeface paintTypeface, Float paintTextSize, Boolean visible, Boolean ambientMode) {
+        String icon;
         switch (sensorType) {
             case Sensor.TYPE_PRESSURE:
-                sensorIconColumn.setText(context.getResources().getString(R.string.icon_android_sensor_pressure));
+                icon = context.getResources().getString(R.string.icon_android_sensor_pressure);
                 break;
             case CallbackSensor.TYPE_PRESSURE_ALTITUDE:
-                sensorIconColumn.setText(context.getResources().getString(R.string.icon_android_sensor_pressure_altitude));
+                icon = context.getResources().getString(R.string.icon_android_sensor_pressure_altitude);
                 break;
             case Sensor.TYPE_HEART_RATE:
-                sensorIconColumn.setText(context.getResources().getString(R.string.icon_android_sensor_heart_rate));
+                icon = context.getResources().getString(R.string.icon_android_sensor_heart_rate);
                 break;
             case Sensor.TYPE_AMBIENT_TEMPERATURE:
-                sensorIconColumn.setText(context.getResources().getString(R.string.icon_android_sensor_ambient_temperature));
+                icon = context.getResources().getString(R.string.icon_android_sensor_ambient_temperature);
                 break;
             case Sensor.TYPE_MAGNETIC_FIELD:
-                sensorIconColumn.setText(context.getResources().getString(R.string.icon_android_sensor_magnetic_field));
+                icon = context.getResources().getString(R.string.icon_android_sensor_magnetic_field);
                 break;
             case Sensor.TYPE_LIGHT:
-                sensorIconColumn.setText(context.getResources().getString(R.string.icon_android_sensor_light));
+                icon = context.getResources().getString(R.string.icon_android_sensor_light);
                 break;
             case Sensor.TYPE_RELATIVE_HUMIDITY:
-                sensorIconColumn.setText(context.getResources().getString(R.string.icon_android_sensor_relative_humidity));
+                icon = context.getResources().getString(R.string.icon_android_sensor_relative_humidity);
                 break;
             case Sensor.TYPE_ACCELEROMETER:
-                sensorIconColumn.setText(context.getResources().getString(R.string.icon_android_sensor_accelerometer));
+                icon = context.getResources().getString(R.string.icon_android_sensor_accelerometer);
                 break;
             default:
-                sensorIconColumn.setText("?");
+                icon = "?";
         }
-        return sensorIconColumn;
+        return new IconColumn(context, styleRegistry, paintTypeface, paintTextSize, icon);
     }
 
-    public static Column getColumnForSensorType(Context context, Integer sensorType, Typeface paintTypeface, Float paintTextSize, int paintColor, Boolean visible, Boolean ambientMode) {
+    public static Column getColumnForSensorType(Context context, StyleRegistry styleRegistry, Integer sensorType, Typeface paintTypeface, Float paintTextSize, Boolean visible, Boolean ambientMode) {
         SensorColumn sensorColumn;
         switch (sensorType) {
             case Sensor.TYPE_ACCELEROMETER:
-                sensorColumn = new AccelerometerSensorColumn(context, paintTypeface, paintTextSize, paintColor, sensorType, visible, ambientMode);
+                sensorColumn = new AccelerometerSensorColumn(context, styleRegistry, paintTypeface, paintTextSize, sensorType, visible, ambientMode);
                 break;
             case Sensor.TYPE_PRESSURE:
-                sensorColumn = new PressureSensorColumn(context, paintTypeface, paintTextSize, paintColor, sensorType, visible, ambientMode);
+                sensorColumn = new PressureSensorColumn(context, styleRegistry, paintTypeface, paintTextSize, sensorType, visible, ambientMode);
                 break;
             case Sensor.TYPE_HEART_RATE:
-                sensorColumn = new HeartRateSensorColumn(context, paintTypeface, paintTextSize, paintColor, sensorType, visible, ambientMode);
+                sensorColumn = new HeartRateSensorColumn(context, styleRegistry, paintTypeface, paintTextSize, sensorType, visible, ambientMode);
                 break;
             default:
-                sensorColumn = new SensorColumn(context, paintTypeface, paintTextSize, paintColor, sensorType);
+                sensorColumn = new SensorColumn(context, styleRegistry, paintTypeface, paintTextSize, sensorType);
                 break;
         }
         return sensorColumn;
     }
 
-    public static Column getUnitsColumnForSensorType(Context context, Integer sensorType, Typeface paintTypeface, Float paintTextSize, int paintColor, Boolean visible, Boolean ambientMode) {
-        Column sensorUnitsColumn = new Column(context, paintTypeface, paintTextSize, paintColor);
+    public static Column getUnitsColumnForSensorType(Context context, StyleRegistry styleRegistry, Integer sensorType, Typeface paintTypeface, Float paintTextSize, Boolean visible, Boolean ambientMode) {
+        Column sensorUnitsColumn = new Column(context, styleRegistry, paintTypeface, paintTextSize);
         switch (sensorType) {
             case Sensor.TYPE_PRESSURE:
                 sensorUnitsColumn.setText(context.getResources().getString(R.string.units_android_sensor_pressure));
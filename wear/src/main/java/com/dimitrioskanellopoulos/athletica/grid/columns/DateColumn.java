@@ -5,37 +5,55 @@ import android.graphics.Typeface;
 import android.util.Log;
 
 import com.dimitrioskanellopoulos.athletica.grid.columns.abstracts.CalendarColumn;
+import com.dimitrioskanellopoulos.athletica.grid.styles.StyleRegistry;
 
 import org.apache.commons.lang3.time.FastDateFormat;
 
 import java.util.Locale;
-import java.util.TimeZone;
 
 public class DateColumn extends CalendarColumn {
     private final static String TAG = "DateColumn";
+    private static final String DATE_PATTERN = "dd.MM.yyyy";
+    private static final String DATE_NAMES_PATTERN = "E d MMM yyyy";
 
-    private static final FastDateFormat DATE_FORMAT = FastDateFormat.getInstance("dd.MM.yyyy", TimeZone.getDefault(), Locale.getDefault());
-    private static final FastDateFormat DATE_NAMES_FORMAT = FastDateFormat.getInstance("E d MMM yyyy", TimeZone.getDefault(), Locale.getDefault());
+    private String datePattern = DATE_PATTERN;
+    private String dateText;
+    private boolean isDateTextValid = false;
+    private int dateTextGeneration;
 
-    private FastDateFormat dateFormat = DATE_FORMAT;
-
-    public DateColumn(Context context, Typeface paintTypeface, Float paintTextSize, int paintColor, Boolean visible, Boolean ambientMode) {
-        super(context, paintTypeface, paintTextSize, paintColor);
+    public DateColumn(Context context, StyleRegistry styleRegistry, Typeface paintTypeface, Float paintTextSize, Boolean visible, Boolean ambientMode) {
+        super(context, styleRegistry, paintTypeface, paintTextSize);
     }
 
+    /**
+     * Formatted once a day. The zone and the locale are read then so a change of either, which
+     * invalidates the day, is picked up
+     */
     @Override
     public String getText() {
-        CALENDAR.setTimeInMillis(System.currentTimeMillis());
-        return dateFormat.format(CALENDAR);
+        DAY_CACHE.update(System.currentTimeMillis());
+        if (!isDateTextValid || dateTextGeneration != DAY_CACHE.getGeneration()) {
+            dateText = FastDateFormat.getInstance(datePattern, DAY_CACHE.getTimeZone(), Locale.getDefault())
+                    .format(DAY_CACHE.getCalendar());
+            dateTextGeneration = DAY_CACHE.getGeneration();
+            isDateTextValid = true;
+        }
+        return dateText;
+    }
+
+    /**
+     * The date changes once a day so mix in the day
+     */
+    @Override
+    public int getVersion() {
+        DAY_CACHE.update(System.currentTimeMillis());
+        return 31 * super.getVersion() + DAY_CACHE.getGeneration();
     }
 
     public void setShowDateNamesFormat(Boolean showDateNamesFormat) {
-        if (showDateNamesFormat) {
-            dateFormat = DATE_NAMES_FORMAT;
-        } else {
-            dateFormat = DATE_FORMAT;
-        }
-        getPaint().setTextSize(getPaint().getTextSize());
+        datePattern = showDateNamesFormat ? DATE_NAMES_PATTERN : DATE_PATTERN;
+        isDateTextValid = false;
+        invalidateTextMetrics();
     }
 
     @Override
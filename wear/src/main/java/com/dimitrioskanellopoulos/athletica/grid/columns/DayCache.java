@@ -0,0 +1,81 @@
+package com.dimitrioskanellopoulos.athletica.grid.columns;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * Keeps the calendar of the current local day for everything that changes once a day.
+ * The start of the next day is computed when a day starts, so checking for a new day is a single
+ * comparison. A change of the time zone, the locale or the clock invalidates it.
+ * The generation changes with every new day so whatever was derived from the day can be cached
+ * until then
+ */
+public class DayCache {
+    private final Calendar calendar = Calendar.getInstance();
+    private boolean isValid = false;
+    private long dayStartMs;
+    private long nextDayStartMs;
+    private int generation = 0;
+
+    /**
+     * Moves to the day of the given time unless it is already in the current day
+     */
+    public void update(long timeMs) {
+        if (isValid && timeMs >= dayStartMs && timeMs < nextDayStartMs) {
+            return;
+        }
+        calendar.setTimeInMillis(timeMs);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        dayStartMs = calendar.getTimeInMillis();
+        // Adding a day instead of 24 hours keeps the days that are 23 or 25 hours long right
+        calendar.add(Calendar.DAY_OF_YEAR, 1);
+        nextDayStartMs = calendar.getTimeInMillis();
+        calendar.setTimeInMillis(dayStartMs);
+        isValid = true;
+        generation++;
+    }
+
+    /**
+     * The next update starts the day again. For clock and locale changes
+     */
+    public void invalidate() {
+        isValid = false;
+    }
+
+    public TimeZone getTimeZone() {
+        return calendar.getTimeZone();
+    }
+
+    public void setTimeZone(TimeZone timeZone) {
+        if (timeZone.getID().equals(calendar.getTimeZone().getID())) {
+            return;
+        }
+        calendar.setTimeZone(timeZone);
+        invalidate();
+    }
+
+    /**
+     * The calendar at the start of the current day. Do not modify it
+     */
+    public Calendar getCalendar() {
+        return calendar;
+    }
+
+    public long getDayStartMs() {
+        return dayStartMs;
+    }
+
+    /**
+     * When the current day rolls over
+     */
+    public long getNextDayStartMs() {
+        return nextDayStartMs;
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+}
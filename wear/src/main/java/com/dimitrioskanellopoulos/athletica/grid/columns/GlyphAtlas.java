@@ -0,0 +1,205 @@
+package com.dimitrioskanellopoulos.athletica.grid.columns;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.Typeface;
+
+import com.dimitrioskanellopoulos.athletica.grid.targets.interfaces.RenderTargetInterface;
+
+/**
+ * A strip of pre-rasterized cells (single glyphs or whole strings) that text can be blitted from
+ * instead of being shaped and rasterized on every frame.
+ * The cells are rendered as an alpha mask so the color comes from the paint at blit time and a
+ * theme change does not need a rebuild. A different typeface, size, antialiasing or style does.
+ */
+public class GlyphAtlas {
+    /**
+     * Room around every cell for glyphs overhanging their advance and for the antialiasing
+     */
+    private static final int CELL_PADDING = 2;
+
+    private final String[] cells;
+    private final Rect[] cellRects;
+    private final float[] cellAdvances;
+    private final Paint rasterPaint = new Paint();
+    private final Paint blitPaint = new Paint();
+    private final Canvas atlasCanvas = new Canvas();
+    private final RectF destination = new RectF();
+    private Bitmap atlas;
+
+    private boolean isBuilt = false;
+    private int buildCount = 0;
+    private Typeface typeface;
+    private float textSize;
+    private boolean antiAlias;
+    private Paint.Style style;
+    private float ascent;
+
+    GlyphAtlas(String... cells) {
+        this.cells = cells;
+        cellRects = new Rect[cells.length];
+        cellAdvances = new float[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            cellRects[i] = new Rect();
+        }
+    }
+
+    /**
+     * Draws the text from the atlas. Text that is a cell or is made of single character cells is
+     * blitted, anything else is drawn the normal way
+     */
+    void drawText(RenderTargetInterface target, String text, float x, float y, Paint paint) {
+        if (!isBuilt || !isBuiltFor(paint)) {
+            build(paint);
+        }
+        blitPaint.setColor(paint.getColor());
+
+        int cell = indexOfCell(text);
+        if (cell >= 0) {
+            drawCell(target, cell, x, y);
+            return;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (indexOfCell(text.charAt(i)) < 0) {
+                target.drawText(text, x, y, paint);
+                return;
+            }
+        }
+        float cursor = x;
+        for (int i = 0; i < text.length(); i++) {
+            cell = indexOfCell(text.charAt(i));
+            drawCell(target, cell, cursor, y);
+            cursor += cellAdvances[cell];
+        }
+    }
+
+    /**
+     * Draws the first count chars of the text from the atlas if they are all single character
+     * cells, otherwise the normal way
+     */
+    void drawText(RenderTargetInterface target, char[] text, int count, float x, float y, Paint paint) {
+        if (!isBuilt || !isBuiltFor(paint)) {
+            build(paint);
+        }
+        blitPaint.setColor(paint.getColor());
+
+        for (int i = 0; i < count; i++) {
+            if (indexOfCell(text[i]) < 0) {
+                target.drawText(text, 0, count, x, y, paint);
+                return;
+            }
+        }
+        float cursor = x;
+        for (int i = 0; i < count; i++) {
+            int cell = indexOfCell(text[i]);
+            drawCell(target, cell, cursor, y);
+            cursor += cellAdvances[cell];
+        }
+    }
+
+    /**
+     * The width of the first count chars when drawn from the atlas. It adds up the advances
+     * measured when the atlas was built, so text that changes every second is not measured again
+     */
+    float measureText(char[] text, int count, Paint paint) {
+        if (!isBuilt || !isBuiltFor(paint)) {
+            build(paint);
+        }
+        float width = 0f;
+        for (int i = 0; i < count; i++) {
+            int cell = indexOfCell(text[i]);
+            if (cell < 0) {
+                return paint.measureText(text, 0, count);
+            }
+            width += cellAdvances[cell];
+        }
+        return width;
+    }
+
+    private void drawCell(RenderTargetInterface target, int cell, float x, float y) {
+        Rect cellRect = cellRects[cell];
+        float left = Math.round(x) - CELL_PADDING;
+        float top = Math.round(y) + Math.round(ascent) - CELL_PADDING;
+        destination.set(left, top, left + cellRect.width(), top + cellRect.height());
+        target.drawBitmap(atlas, cellRect, destination, blitPaint);
+    }
+
+    private int indexOfCell(String text) {
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i].equals(text)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int indexOfCell(char character) {
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i].length() == 1 && cells[i].charAt(0) == character) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isBuiltFor(Paint paint) {
+        return paint.getTypeface() == typeface
+                && paint.getTextSize() == textSize
+                && paint.isAntiAlias() == antiAlias
+                && paint.getStyle() == style;
+    }
+
+    /**
+     * Rasterizes all the cells side by side in a single row
+     */
+    private void build(Paint paint) {
+        rasterPaint.set(paint);
+        rasterPaint.setColor(0xFF000000);
+        typeface = paint.getTypeface();
+        textSize = paint.getTextSize();
+        antiAlias = paint.isAntiAlias();
+        style = paint.getStyle();
+        ascent = rasterPaint.ascent();
+
+        int cellHeight = (int) Math.ceil(rasterPaint.descent() - ascent) + 2 * CELL_PADDING;
+        int atlasWidth = 0;
+        for (int i = 0; i < cells.length; i++) {
+            cellAdvances[i] = rasterPaint.measureText(cells[i]);
+            int cellWidth = (int) Math.ceil(cellAdvances[i]) + 2 * CELL_PADDING;
+            cellRects[i].set(atlasWidth, 0, atlasWidth + cellWidth, cellHeight);
+            atlasWidth += cellWidth;
+        }
+
+        if (atlas != null) {
+            atlas.recycle();
+        }
+        atlas = Bitmap.createBitmap(Math.max(atlasWidth, 1), cellHeight, Bitmap.Config.ALPHA_8);
+        atlasCanvas.setBitmap(atlas);
+        for (int i = 0; i < cells.length; i++) {
+            atlasCanvas.drawText(cells[i], cellRects[i].left + CELL_PADDING, CELL_PADDING - Math.round(ascent), rasterPaint);
+        }
+        isBuilt = true;
+        buildCount++;
+    }
+
+    /**
+     * How many times the cells were rasterized
+     */
+    int getBuildCount() {
+        return buildCount;
+    }
+
+    /**
+     * Recycles the atlas bitmap. The next draw builds it again
+     */
+    void release() {
+        if (atlas != null) {
+            atlas.recycle();
+            atlas = null;
+        }
+        isBuilt = false;
+    }
+}
@@ -6,6 +6,7 @@ import android.support.annotation.NonNull;
 import android.util.Log;
 
 import com.dimitrioskanellopoulos.athletica.grid.columns.abstracts.GoogleApiColumn;
+import com.dimitrioskanellopoulos.athletica.grid.styles.StyleRegistry;
 import com.dimitrioskanellopoulos.athletica.helpers.EmulatorHelper;
 import com.google.android.gms.common.api.GoogleApiClient;
 import com.google.android.gms.common.api.PendingResult;
@@ -21,7 +22,6 @@ import com.google.android.gms.fitness.result.DailyTotalResult;
 import com.google.android.gms.fitness.result.ListSubscriptionsResult;
 
 import java.util.List;
-import java.util.Locale;
 
 
 public class GoogleFitStepsColumn extends GoogleApiColumn implements GoogleApiClient.ConnectionCallbacks,
@@ -30,9 +30,10 @@ public class GoogleFitStepsColumn extends GoogleApiColumn implements GoogleApiCl
     private static GoogleApiClient googleApiClient;
     private PendingResult<DailyTotalResult> stepsResult;
     private Boolean hasRegisteredReceivers = false;
+    private final NumberFormatter numberFormatter = new NumberFormatter();
 
-    public GoogleFitStepsColumn(Context context, Typeface paintTypeface, Float paintTextSize, int paintColor, Boolean visible, Boolean ambientMode) {
-        super(context, paintTypeface, paintTextSize, paintColor);
+    public GoogleFitStepsColumn(Context context, StyleRegistry styleRegistry, Typeface paintTypeface, Float paintTextSize, Boolean visible, Boolean ambientMode) {
+        super(context, styleRegistry, paintTypeface, paintTextSize);
         googleApiClient = new GoogleApiClient.Builder(context)
                 .addConnectionCallbacks(this)
                 .addOnConnectionFailedListener(this)
@@ -46,18 +47,10 @@ public class GoogleFitStepsColumn extends GoogleApiColumn implements GoogleApiCl
         googleApiClient.connect();
 
         if (EmulatorHelper.isEmulator()) {
-            setText(withSuffix(1801));
+            setText(numberFormatter.formatWithSuffix(1801));
         }
     }
 
-    private static String withSuffix(long count) {
-        if (count < 1000) return "" + count;
-        int exp = (int) (Math.log(count) / Math.log(1000));
-        return String.format(Locale.getDefault(), "%.1f%c",
-                count / Math.pow(1000, exp),
-                "kMGTPE".charAt(exp - 1));
-    }
-
     @Override
     public void onResult(@NonNull DailyTotalResult dailyTotalResult) {
         Log.d(TAG, "onResult(): " + dailyTotalResult);
@@ -67,7 +60,7 @@ public class GoogleFitStepsColumn extends GoogleApiColumn implements GoogleApiCl
 
             if (!points.isEmpty()) {
                 Integer stepsTotal = points.get(0).getValue(Field.FIELD_STEPS).asInt();
-                setText(withSuffix(stepsTotal));
+                setText(numberFormatter.formatWithSuffix(stepsTotal));
                 Log.d(TAG, "steps updated: " + stepsTotal);
             }
         } else {
@@ -4,7 +4,8 @@ import android.content.Context;
 import android.graphics.Typeface;
 import android.hardware.Sensor;
 import android.os.Vibrator;
-import android.util.Log;
+
+import com.dimitrioskanellopoulos.athletica.grid.styles.StyleRegistry;
 
 class HeartRateSensorColumn extends SensorColumn {
     private final static String TAG = "HeartRateSensorColumn";
@@ -14,9 +15,10 @@ class HeartRateSensorColumn extends SensorColumn {
      */
     private final Vibrator vibrator;
 
-    HeartRateSensorColumn(Context context, Typeface paintTypeface, Float paintTextSize, int paintColor, int sensorType, Boolean visible, Boolean ambientMode) {
-        super(context, paintTypeface, paintTextSize, paintColor, sensorType);
+    HeartRateSensorColumn(Context context, StyleRegistry styleRegistry, Typeface paintTypeface, Float paintTextSize, int sensorType, Boolean visible, Boolean ambientMode) {
+        super(context, styleRegistry, paintTypeface, paintTextSize, sensorType);
         vibrator = (Vibrator) this.context.getSystemService(Context.VIBRATOR_SERVICE);
+        setWidthTemplate("888");
     }
 
     @Override
@@ -24,7 +26,7 @@ class HeartRateSensorColumn extends SensorColumn {
         if (Math.round(eventValues[0]) > 180) {
             vibrator.vibrate(new long[]{0, 250, 500, 250, 100, 250, 50, 250, 50}, -1);
         }
-        setText(decimalFormat.format(Math.round(eventValues[0])));
-        Log.d(TAG, "Updated value for sensor: " + getText());
+        String text = numberFormatter.formatInteger(Math.round(eventValues[0]));
+        publishText(text);
     }
 }
@@ -0,0 +1,35 @@
+package com.dimitrioskanellopoulos.athletica.grid.columns;
+
+import android.content.Context;
+import android.graphics.Typeface;
+
+import com.dimitrioskanellopoulos.athletica.grid.styles.StyleRegistry;
+import com.dimitrioskanellopoulos.athletica.grid.targets.interfaces.RenderTargetInterface;
+
+/**
+ * A column that shows an icon from an icon font. The icons it is created with are drawn from
+ * pre-rasterized glyphs
+ */
+public class IconColumn extends Column {
+    private final IconGlyphCache iconGlyphCache;
+
+    /**
+     * Shows the first of the icons, the rest are the ones it might be switched to with setText
+     */
+    public IconColumn(Context context, StyleRegistry styleRegistry, Typeface paintTypeface, Float paintTextSize, String... icons) {
+        super(context, styleRegistry, paintTypeface, paintTextSize);
+        iconGlyphCache = new IconGlyphCache(icons);
+        setText(icons[0]);
+    }
+
+    @Override
+    public void draw(RenderTargetInterface target, float x, float y) {
+        iconGlyphCache.drawIcon(target, getText(), x + getTextOffsetX(), y, getPaint(), getStyleRegistry());
+    }
+
+    @Override
+    public void destroy() {
+        iconGlyphCache.release();
+        super.destroy();
+    }
+}
@@ -0,0 +1,63 @@
+package com.dimitrioskanellopoulos.athletica.grid.columns;
+
+import android.graphics.Paint;
+
+import com.dimitrioskanellopoulos.athletica.grid.styles.StyleRegistry;
+import com.dimitrioskanellopoulos.athletica.grid.targets.interfaces.RenderTargetInterface;
+
+/**
+ * The glyphs of an icon column rasterized once and blitted on every frame, so the large icon
+ * fonts are not shaped again. There is an atlas for every look of the style registry, filled or
+ * outlined and with or without antialiasing, so toggling ambient mode does not rasterize them
+ * again. The color, including the red of an empty battery, is applied at blit time
+ */
+class IconGlyphCache {
+    private final String[] icons;
+    private final GlyphAtlas[] atlases = new GlyphAtlas[4];
+
+    IconGlyphCache(String... icons) {
+        this.icons = icons;
+    }
+
+    /**
+     * Icons that are not in the cache are drawn the normal way
+     */
+    void drawIcon(RenderTargetInterface target, String icon, float x, float y, Paint paint, StyleRegistry styleRegistry) {
+        getAtlas(styleRegistry).drawText(target, icon, x, y, paint);
+    }
+
+    /**
+     * How many times the atlases were rasterized, together
+     */
+    int getBuildCount() {
+        int buildCount = 0;
+        for (GlyphAtlas atlas : atlases) {
+            if (atlas != null) {
+                buildCount += atlas.getBuildCount();
+            }
+        }
+        return buildCount;
+    }
+
+    /**
+     * Recycles the bitmaps of all the atlases
+     */
+    void release() {
+        for (GlyphAtlas atlas : atlases) {
+            if (atlas != null) {
+                atlas.release();
+            }
+        }
+    }
+
+    private GlyphAtlas getAtlas(StyleRegistry styleRegistry) {
+        int index = styleRegistry.isOutline() ? 1 : 0;
+        if (styleRegistry.isAntiAlias()) {
+            index += 2;
+        }
+        if (atlases[index] == null) {
+            atlases[index] = new GlyphAtlas(icons);
+        }
+        return atlases[index];
+    }
+}
@@ -0,0 +1,158 @@
+package com.dimitrioskanellopoulos.athletica.grid.columns;
+
+import java.text.DecimalFormatSymbols;
+
+/**
+ * Formats numbers into a reused char buffer instead of going through DecimalFormat or
+ * String.format. The String is only created when the formatted chars differ from the last ones,
+ * so formatting an unchanged value returns the same String without allocating.
+ * Not thread safe, every column keeps its own
+ */
+public class NumberFormatter {
+    private static final String SUFFIXES = "kMGTPE";
+    private static final long[] POWERS_OF_TEN = {1, 10, 100, 1000, 10000, 100000, 1000000};
+
+    private final char decimalSeparator = DecimalFormatSymbols.getInstance().getDecimalSeparator();
+    private final char[] digits = new char[20];
+    private char[] buffer = new char[32];
+    private int length = 0;
+    private char[] textChars = new char[32];
+    private int textLength = -1;
+    private String text;
+
+    public String formatInteger(long value) {
+        return begin().appendInteger(value).toText();
+    }
+
+    /**
+     * Like the "#.#" patterns, at most the given decimals and no trailing zeros
+     */
+    public String formatDecimal(double value, int maxDecimals) {
+        return begin().appendDecimal(value, maxDecimals).toText();
+    }
+
+    /**
+     * The rounded value followed by "%"
+     */
+    public String formatPercent(double value) {
+        return begin().appendInteger(Math.round(value)).append('%').toText();
+    }
+
+    /**
+     * Counts from 1000 on get one decimal and a suffix, so 1801 becomes "1.8k"
+     */
+    public String formatWithSuffix(long count) {
+        return begin().appendWithSuffix(count).toText();
+    }
+
+    public NumberFormatter begin() {
+        length = 0;
+        return this;
+    }
+
+    public NumberFormatter append(char character) {
+        ensureCapacity(1);
+        buffer[length++] = character;
+        return this;
+    }
+
+    public NumberFormatter appendInteger(long value) {
+        if (value < 0) {
+            append('-');
+        }
+        int count = 0;
+        do {
+            digits[count++] = (char) ('0' + Math.abs(value % 10));
+            value /= 10;
+        } while (value != 0);
+        ensureCapacity(count);
+        while (count > 0) {
+            buffer[length++] = digits[--count];
+        }
+        return this;
+    }
+
+    public NumberFormatter appendDecimal(double value, int maxDecimals) {
+        return appendDecimal(value, maxDecimals, false);
+    }
+
+    /**
+     * Exactly the given decimals, trailing zeros included
+     */
+    public NumberFormatter appendFixed(double value, int decimals) {
+        return appendDecimal(value, decimals, true);
+    }
+
+    public NumberFormatter appendWithSuffix(long count) {
+        if (count < 1000) {
+            return appendInteger(count);
+        }
+        double scaled = count;
+        int exponent = 0;
+        while (scaled >= 1000 && exponent < SUFFIXES.length()) {
+            scaled /= 1000;
+            exponent++;
+        }
+        return appendFixed(scaled, 1).append(SUFFIXES.charAt(exponent - 1));
+    }
+
+    private NumberFormatter appendDecimal(double value, int decimals, boolean keepTrailingZeros) {
+        long scale = POWERS_OF_TEN[decimals];
+        long scaled = Math.round(Math.abs(value) * scale);
+        if (value < 0 && scaled != 0) {
+            append('-');
+        }
+        appendInteger(scaled / scale);
+        long fraction = scaled % scale;
+        if (!keepTrailingZeros) {
+            while (decimals > 0 && fraction % 10 == 0) {
+                fraction /= 10;
+                decimals--;
+            }
+        }
+        if (decimals == 0) {
+            return this;
+        }
+        append(decimalSeparator);
+        ensureCapacity(decimals);
+        for (int i = decimals - 1; i >= 0; i--) {
+            buffer[length + i] = (char) ('0' + fraction % 10);
+            fraction /= 10;
+        }
+        length += decimals;
+        return this;
+    }
+
+    /**
+     * The formatted text, the same String as last time if the chars did not change
+     */
+    public String toText() {
+        if (length == textLength && hasTextChars()) {
+            return text;
+        }
+        if (textChars.length < length) {
+            textChars = new char[buffer.length];
+        }
+        System.arraycopy(buffer, 0, textChars, 0, length);
+        textLength = length;
+        text = new String(buffer, 0, length);
+        return text;
+    }
+
+    private boolean hasTextChars() {
+        for (int i = 0; i < length; i++) {
+            if (buffer[i] != textChars[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > buffer.length) {
+            char[] larger = new char[Math.max(buffer.length * 2, length + extra)];
+            System.arraycopy(buffer, 0, larger, 0, length);
+            buffer = larger;
+        }
+    }
+}
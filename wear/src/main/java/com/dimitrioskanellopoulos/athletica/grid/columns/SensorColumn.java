@@ -5,43 +5,61 @@ import android.graphics.Typeface;
 import android.hardware.Sensor;
 import android.util.Log;
 
+import com.dimitrioskanellopoulos.athletica.grid.styles.StyleRegistry;
 import com.dimitrioskanellopoulos.athletica.sensors.AveragingCallbackSensor;
 import com.dimitrioskanellopoulos.athletica.sensors.CallbackSensorFactory;
+import com.dimitrioskanellopoulos.athletica.sensors.LatestValue;
 import com.dimitrioskanellopoulos.athletica.sensors.interfaces.OnSensorAverageEventCallbackInterface;
 import com.dimitrioskanellopoulos.athletica.sensors.interfaces.OnSensorEventCallbackInterface;
 
-import java.text.DecimalFormat;
+import java.io.PrintWriter;
 
-class SensorColumn extends Column implements OnSensorEventCallbackInterface,
+/**
+ * The sensor calls back on the thread of the sensor hub. The text formatted there is published
+ * through a {@link LatestValue} and taken over by the main thread the next time it reads the
+ * column, so drawing never waits for the sensor
+ */
+public class SensorColumn extends Column implements OnSensorEventCallbackInterface,
         OnSensorAverageEventCallbackInterface {
-    final static DecimalFormat decimalFormat = new DecimalFormat("#.#");
     private final static String TAG = "SensorColumn";
+    /**
+     * Only used on the thread of the sensor hub
+     */
+    final NumberFormatter numberFormatter = new NumberFormatter();
     private final AveragingCallbackSensor averagingCallbackSensor;
+    private final LatestValue<String> latestText = new LatestValue<>();
+    private int appliedSequence = 0;
 
-    SensorColumn(Context context, Typeface paintTypeface, Float paintTextSize, int paintColor, int sensorType) {
-        super(context, paintTypeface, paintTextSize, paintColor);
+    SensorColumn(Context context, StyleRegistry styleRegistry, Typeface paintTypeface, Float paintTextSize, int sensorType) {
+        super(context, styleRegistry, paintTypeface, paintTextSize);
         averagingCallbackSensor = CallbackSensorFactory.getCallbackSensor(context, sensorType, this, this);
     }
 
     @Override
     public void setIsVisible(Boolean isVisible) {
         Log.d(TAG, "Set is visible " + isVisible.toString());
-        if (isVisible && !isInAmbientMode()) {
-            averagingCallbackSensor.startListening();
-        } else {
-            averagingCallbackSensor.stopListening();
-        }
+        updateListening(isVisible, isInAmbientMode());
         super.setIsVisible(isVisible);
     }
 
     @Override
     public void setAmbientMode(Boolean ambientMode) {
-        if (!ambientMode && isVisible()) {
+        updateListening(isVisible(), ambientMode);
+        super.setAmbientMode(ambientMode);
+    }
+
+    /**
+     * Listens closely while the face is interactive. In ambient mode the events are batched in
+     * the sensor hub and flushed when the values are needed, otherwise the sensor is off
+     */
+    private void updateListening(boolean isVisible, boolean ambientMode) {
+        if (isVisible && !ambientMode) {
             averagingCallbackSensor.startListening();
+        } else if (isVisible && averagingCallbackSensor.canBatch()) {
+            averagingCallbackSensor.startBatching();
         } else {
             averagingCallbackSensor.stopListening();
         }
-        super.setAmbientMode(ambientMode);
     }
 
     @Override
@@ -51,8 +69,44 @@ class SensorColumn extends Column implements OnSensorEventCallbackInterface,
 
     @Override
     public void handleOnSensorChangedEvent(Sensor sensor, Integer sensorType, float[] eventValues) {
-        setText(decimalFormat.format(Math.round(eventValues[0])));
-        Log.d(TAG, "Updated value for sensor: " + sensorType + " " + eventValues[0]);
+        publishText(numberFormatter.formatInteger(Math.round(eventValues[0])));
+    }
+
+    /**
+     * Hands the text of a new value to the main thread, only from the sensor callbacks
+     */
+    protected void publishText(String text) {
+        latestText.publish(text);
+    }
+
+    /**
+     * Takes over the text last published, on the main thread
+     */
+    private void applyLatestText() {
+        int sequence = latestText.getSequence();
+        if (sequence == appliedSequence) {
+            return;
+        }
+        appliedSequence = sequence;
+        setText(latestText.get());
+    }
+
+    @Override
+    public String getText() {
+        applyLatestText();
+        return super.getText();
+    }
+
+    @Override
+    public int getVersion() {
+        applyLatestText();
+        return super.getVersion();
+    }
+
+    @Override
+    public int getLayoutVersion() {
+        applyLatestText();
+        return super.getLayoutVersion();
     }
 
     @Override
@@ -61,10 +115,25 @@ class SensorColumn extends Column implements OnSensorEventCallbackInterface,
         Log.d(TAG, "Destroyed");
     }
 
+    /**
+     * Refreshes the value. A batching sensor already has the recent events waiting in the FIFO so
+     * they are flushed instead of averaging new ones under a wake lock
+     */
     @Override
     public void runTasks() {
         Log.d(TAG, "Running tasks");
+        if (averagingCallbackSensor.isBatching()) {
+            averagingCallbackSensor.flush();
+            return;
+        }
+        // A value published before the new average is due is not shown over the refresh sign
+        appliedSequence = latestText.getSequence();
         setText("\u21bb");
         averagingCallbackSensor.getAverage();
     }
+
+    public void dump(String prefix, PrintWriter writer) {
+        writer.println(prefix + "Sensor " + averagingCallbackSensor.getStringType() + ":");
+        averagingCallbackSensor.getBatchStatistics().dump(prefix + "  ", writer);
+    }
 }
@@ -3,11 +3,13 @@ package com.dimitrioskanellopoulos.athletica.grid.columns;
 import android.content.Context;
 import android.graphics.Typeface;
 
+import com.dimitrioskanellopoulos.athletica.grid.styles.StyleRegistry;
+
 public class SunriseColumn extends SunriseSunsetColumn {
     private static final String TAG = "SunriseColumn";
 
-    public SunriseColumn(Context context, Typeface paintTypeface, Float paintTextSize, int paintColor, Boolean visible, Boolean ambientMode) {
-        super(context, paintTypeface, paintTextSize, paintColor);
+    public SunriseColumn(Context context, StyleRegistry styleRegistry, Typeface paintTypeface, Float paintTextSize, Boolean visible, Boolean ambientMode) {
+        super(context, styleRegistry, paintTypeface, paintTextSize);
     }
 
     @Override
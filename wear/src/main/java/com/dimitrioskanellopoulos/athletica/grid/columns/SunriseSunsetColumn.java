@@ -8,6 +8,7 @@ import android.util.Log;
 import android.util.Pair;
 
 import com.dimitrioskanellopoulos.athletica.grid.columns.abstracts.GoogleApiColumn;
+import com.dimitrioskanellopoulos.athletica.grid.styles.StyleRegistry;
 import com.dimitrioskanellopoulos.athletica.helpers.EmulatorHelper;
 import com.dimitrioskanellopoulos.athletica.helpers.SunriseSunsetHelper;
 import com.dimitrioskanellopoulos.athletica.permissions.PermissionsHelper;
@@ -28,6 +29,10 @@ class SunriseSunsetColumn extends GoogleApiColumn {
             .setFastestInterval(LOCATION_UPDATE_FASTEST_INTERVAL_MS)
             .setPriority(LocationRequest.PRIORITY_LOW_POWER);
     static Pair<String, String> sunriseSunset;
+    /**
+     * Incremented every time the sunrise and sunset times are recalculated
+     */
+    private static int sunriseSunsetVersion = 0;
     private static final LocationListener locationChangedReceiver = new LocationListener() {
         @Override
         public void onLocationChanged(Location location) {
@@ -38,6 +43,7 @@ class SunriseSunsetColumn extends GoogleApiColumn {
             Log.d(TAG, "Altitude: " + location.getAltitude());
             Log.d(TAG, "Accuracy: " + location.getAccuracy());
             sunriseSunset = SunriseSunsetHelper.getSunriseAndSunset(location, TimeZone.getDefault().getID());
+            sunriseSunsetVersion++;
             Log.d(TAG, "Successfully updated sunrise");
         }
     };
@@ -46,8 +52,8 @@ class SunriseSunsetColumn extends GoogleApiColumn {
 
     private PermissionsHelper permissionsHelper;
 
-    SunriseSunsetColumn(Context context, Typeface paintTypeface, Float paintTextSize, int paintColor) {
-        super(context, paintTypeface, paintTextSize, paintColor);
+    SunriseSunsetColumn(Context context, StyleRegistry styleRegistry, Typeface paintTypeface, Float paintTextSize) {
+        super(context, styleRegistry, paintTypeface, paintTextSize);
         // Get a Google API client if not set
         if (getGoogleApiClient() == null) {
             googleApiClient = new GoogleApiClient.Builder(context)
@@ -69,9 +75,15 @@ class SunriseSunsetColumn extends GoogleApiColumn {
             location.setTime(System.currentTimeMillis());
             location.setAccuracy(3.0f);
             sunriseSunset = SunriseSunsetHelper.getSunriseAndSunset(location, TimeZone.getDefault().getID());
+            sunriseSunsetVersion++;
         }
     }
 
+    @Override
+    public int getVersion() {
+        return 31 * super.getVersion() + sunriseSunsetVersion;
+    }
+
     @Override
     public GoogleApiClient getGoogleApiClient() {
         return googleApiClient;
@@ -3,11 +3,13 @@ package com.dimitrioskanellopoulos.athletica.grid.columns;
 import android.content.Context;
 import android.graphics.Typeface;
 
+import com.dimitrioskanellopoulos.athletica.grid.styles.StyleRegistry;
+
 public class SunsetColumn extends SunriseSunsetColumn {
     private static final String TAG = "SunsetColumn";
 
-    public SunsetColumn(Context context, Typeface paintTypeface, Float paintTextSize, int paintColor, Boolean visible, Boolean ambientMode) {
-        super(context, paintTypeface, paintTextSize, paintColor);
+    public SunsetColumn(Context context, StyleRegistry styleRegistry, Typeface paintTypeface, Float paintTextSize, Boolean visible, Boolean ambientMode) {
+        super(context, styleRegistry, paintTypeface, paintTextSize);
     }
 
     @Override
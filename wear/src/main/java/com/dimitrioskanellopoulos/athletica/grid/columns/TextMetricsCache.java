@@ -0,0 +1,97 @@
+package com.dimitrioskanellopoulos.athletica.grid.columns;
+
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.Typeface;
+
+import java.io.PrintWriter;
+
+/**
+ * Caches the measured width and height of a column's text.
+ * The metrics are keyed by text, typeface and text size so a steady-state frame does no text
+ * measurement. Columns invalidate it explicitly on text, typeface or size changes and the key
+ * check catches anyone changing the paint behind the column's back.
+ */
+public class TextMetricsCache {
+    /**
+     * Totals of all the caches. Columns are only measured on the main thread, so they are only
+     * counted and reset there
+     */
+    private static long hitCount = 0;
+    private static long missCount = 0;
+
+    private final Rect textBounds = new Rect();
+    private boolean valid = false;
+    private String text;
+    private Typeface typeface;
+    private float textSize;
+    private float width;
+    private float height;
+
+    float getWidth(Paint paint, String text) {
+        measure(paint, text);
+        return width;
+    }
+
+    float getHeight(Paint paint, String text) {
+        measure(paint, text);
+        return height;
+    }
+
+    void invalidate() {
+        valid = false;
+    }
+
+    private void measure(Paint paint, String text) {
+        if (valid
+                && paint.getTextSize() == textSize
+                && paint.getTypeface() == typeface
+                && (this.text == text || text.equals(this.text))) {
+            hitCount++;
+            return;
+        }
+        missCount++;
+        this.text = text;
+        typeface = paint.getTypeface();
+        textSize = paint.getTextSize();
+        width = paint.measureText(text);
+        paint.getTextBounds(text, 0, text.length(), textBounds);
+        height = textBounds.height();
+        valid = true;
+    }
+
+    public static long getHitCount() {
+        return hitCount;
+    }
+
+    public static long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * The ratio of lookups that did not need a measurement since the last reset
+     */
+    public static float getHitRate() {
+        long lookups = hitCount + missCount;
+        if (lookups == 0) {
+            return 0f;
+        }
+        return (float) hitCount / lookups;
+    }
+
+    /**
+     * Only on the main thread
+     */
+    public static void resetCounters() {
+        hitCount = 0;
+        missCount = 0;
+    }
+
+    /**
+     * Only on the main thread, like the counting
+     */
+    public static void dump(String prefix, PrintWriter writer) {
+        writer.println(prefix + "Text metrics cache: hits=" + hitCount + " misses=" + missCount
+                + " hit rate=" + getHitRate());
+    }
+}
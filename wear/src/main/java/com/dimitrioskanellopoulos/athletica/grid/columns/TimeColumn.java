@@ -5,28 +5,33 @@ import android.graphics.Typeface;
 import android.util.Log;
 
 import com.dimitrioskanellopoulos.athletica.grid.columns.abstracts.CalendarColumn;
-
-import org.apache.commons.lang3.time.FastDateFormat;
-
-import java.util.Locale;
+import com.dimitrioskanellopoulos.athletica.grid.styles.ColumnStyle;
+import com.dimitrioskanellopoulos.athletica.grid.styles.StyleRegistry;
+import com.dimitrioskanellopoulos.athletica.grid.targets.interfaces.RenderTargetInterface;
 
 public class TimeColumn extends CalendarColumn {
     private final static String TAG = "TimeColumn";
-    private final static FastDateFormat TIME_FORMAT = FastDateFormat.getInstance("h:mm", Locale.getDefault());
-    private final static FastDateFormat TIME_FORMAT_WITH_SECONDS = FastDateFormat.getInstance("h:mm:ss", Locale.getDefault());
-    private final static FastDateFormat TIME_FORMAT_24 = FastDateFormat.getInstance("k:mm", Locale.getDefault());
-    private final static FastDateFormat TIME_FORMAT_24_WITH_SECONDS = FastDateFormat.getInstance("k:mm:ss", Locale.getDefault());
+    private final static String WIDTH_TEMPLATE = "88:88";
+    private final static String WIDTH_TEMPLATE_WITH_SECONDS = "88:88:88";
+    /**
+     * Thin strokes light fewer pixels of the display that needs protection from burn in
+     */
+    private final static Typeface BURN_IN_TYPEFACE = Typeface.create("sans-serif-thin", Typeface.NORMAL);
+    /**
+     * All the glyphs any of the formats can produce
+     */
+    private final GlyphAtlas glyphAtlas = new GlyphAtlas("0", "1", "2", "3", "4", "5", "6", "7", "8", "9", ":");
+    private final ClockFormatter clockFormatter = new ClockFormatter();
     private final Float initTextSize;
-    private Float textSize;
+    private ColumnStyle burnInStyle;
 
     private Boolean isIn24hourFormat = true;
 
-    private FastDateFormat timeFormat = TIME_FORMAT_24;
-
-    public TimeColumn(Context context, Typeface paintTypeface, Float paintTextSize, int paintColor) {
-        super(context, paintTypeface, paintTextSize, paintColor);
+    public TimeColumn(Context context, StyleRegistry styleRegistry, Typeface paintTypeface, Float paintTextSize) {
+        super(context, styleRegistry, paintTypeface, paintTextSize);
         initTextSize = paintTextSize;
-        textSize = initTextSize;
+        setWidthTemplate(WIDTH_TEMPLATE);
+        updateBurnInStyle();
     }
 
     public void setTimeFormat24(Boolean timeFormat24) {
@@ -36,18 +41,36 @@ public class TimeColumn extends CalendarColumn {
 
     private void setTimeFormat() {
         if (isInAmbientMode() && isIn24hourFormat) {
-            timeFormat = TIME_FORMAT_24;
-            getPaint().setTextSize(initTextSize);
+            setTextSize(initTextSize);
+            setWidthTemplate(WIDTH_TEMPLATE);
         } else if (isInAmbientMode() && !isIn24hourFormat) {
-            timeFormat = TIME_FORMAT;
-            getPaint().setTextSize(initTextSize * 0.90f);
+            setTextSize(initTextSize * 0.90f);
+            setWidthTemplate(WIDTH_TEMPLATE);
         } else if (!isInAmbientMode() && isIn24hourFormat) {
-            timeFormat = TIME_FORMAT_24_WITH_SECONDS;
-            getPaint().setTextSize(initTextSize * 0.75f);
+            setTextSize(initTextSize * 0.75f);
+            setWidthTemplate(WIDTH_TEMPLATE_WITH_SECONDS);
         } else {
-            timeFormat = TIME_FORMAT_WITH_SECONDS;
-            getPaint().setTextSize(initTextSize * 0.75f);
+            setTextSize(initTextSize * 0.75f);
+            setWidthTemplate(WIDTH_TEMPLATE_WITH_SECONDS);
+        }
+        clockFormatter.setFormat(isIn24hourFormat, !isInAmbientMode());
+        updateBurnInStyle();
+    }
+
+    private void updateBurnInStyle() {
+        ColumnStyle style = super.getStyle();
+        burnInStyle = getStyleRegistry().getStyle(BURN_IN_TYPEFACE, style.getTextSize(), style.getFontFeatureSettings(), style.getFixedColor());
+    }
+
+    /**
+     * The thin typeface in ambient mode with burn in protection
+     */
+    @Override
+    protected ColumnStyle getStyle() {
+        if (isInAmbientMode() && getStyleRegistry().hasBurnInProtection()) {
+            return burnInStyle;
         }
+        return super.getStyle();
     }
 
     @Override
@@ -56,20 +79,45 @@ public class TimeColumn extends CalendarColumn {
         setTimeFormat();
     }
 
+    /**
+     * Allocates a new String, drawing does not need it
+     */
     @Override
     public String getText() {
-        CALENDAR.setTimeInMillis(System.currentTimeMillis());
-        return timeFormat.format(CALENDAR);
+        formatTime();
+        return clockFormatter.toString();
+    }
+
+    private void formatTime() {
+        clockFormatter.format(System.currentTimeMillis(), CALENDAR.getTimeZone());
+    }
+
+    /**
+     * Changes every second or every minute in ambient mode where no seconds are shown
+     */
+    @Override
+    public int getVersion() {
+        long timeUnit = isInAmbientMode() ? 60000 : 1000;
+        return 31 * super.getVersion() + (int) (System.currentTimeMillis() / timeUnit);
+    }
+
+    /**
+     * Blits the digits from the atlas which gets rebuilt when the ambient mode, the format or
+     * the burn in protection change the size, the typeface or the antialiasing
+     */
+    @Override
+    public void draw(RenderTargetInterface target, float x, float y) {
+        formatTime();
+        glyphAtlas.drawText(target, clockFormatter.getBuffer(), clockFormatter.getLength(), x + getTextOffsetX(), y, getPaint());
     }
 
+    /**
+     * Measured with the advances of the atlas the digits are drawn from
+     */
     @Override
-    public void setBurnInProtection(Boolean burnInProtection) {
-        super.setBurnInProtection(burnInProtection);
-        Typeface boldTypeface =
-                Typeface.create(getPaint().getTypeface().SANS_SERIF, getPaint().getTypeface().BOLD);
-        Typeface normalTypeface =
-                Typeface.create(getPaint().getTypeface().SANS_SERIF, getPaint().getTypeface().NORMAL);
-        getPaint().setTypeface(burnInProtection ? boldTypeface : normalTypeface);
+    protected float getTextOffsetX() {
+        float textWidth = glyphAtlas.measureText(clockFormatter.getBuffer(), clockFormatter.getLength(), getPaint());
+        return (getWidth() - textWidth) * 0.5f;
     }
 
     @Override
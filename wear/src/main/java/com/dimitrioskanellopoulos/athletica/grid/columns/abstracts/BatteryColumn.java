@@ -9,11 +9,16 @@ import android.os.BatteryManager;
 import android.util.Log;
 
 import com.dimitrioskanellopoulos.athletica.grid.columns.Column;
+import com.dimitrioskanellopoulos.athletica.grid.styles.StyleRegistry;
 
 public abstract class BatteryColumn extends Column {
     private static final String TAG = "BatteryColumn";
 
     protected static float batteryLevel = 0.0f;
+    /**
+     * Incremented every time the battery level changes
+     */
+    private static int batteryLevelVersion = 0;
     /**
      * Broadcast receiver for updating the battery level
      */
@@ -23,14 +28,23 @@ public abstract class BatteryColumn extends Column {
             IntentFilter ifilter = new IntentFilter(Intent.ACTION_BATTERY_CHANGED);
             Intent batteryStatus = context.registerReceiver(null, ifilter);
             if (batteryStatus != null) {
-                batteryLevel = batteryStatus.getIntExtra(BatteryManager.EXTRA_LEVEL, -1);
+                float newBatteryLevel = batteryStatus.getIntExtra(BatteryManager.EXTRA_LEVEL, -1);
+                if (newBatteryLevel != batteryLevel) {
+                    batteryLevel = newBatteryLevel;
+                    batteryLevelVersion++;
+                }
             }
         }
     };
     private static boolean isRegisteredBatteryInfoReceiver = false;
 
-    public BatteryColumn(Context context, Typeface paintTypeface, Float paintTextSize, int paintColor) {
-        super(context, paintTypeface, paintTextSize, paintColor);
+    public BatteryColumn(Context context, StyleRegistry styleRegistry, Typeface paintTypeface, Float paintTextSize) {
+        super(context, styleRegistry, paintTypeface, paintTextSize);
+    }
+
+    @Override
+    public int getVersion() {
+        return 31 * super.getVersion() + batteryLevelVersion;
     }
 
     @Override
@@ -8,29 +8,42 @@ import android.graphics.Typeface;
 import android.util.Log;
 
 import com.dimitrioskanellopoulos.athletica.grid.columns.Column;
+import com.dimitrioskanellopoulos.athletica.grid.columns.DayCache;
 import com.dimitrioskanellopoulos.athletica.grid.columns.interfaces.ReceiverColumnInterface;
+import com.dimitrioskanellopoulos.athletica.grid.styles.StyleRegistry;
 
 import java.util.Calendar;
 import java.util.TimeZone;
 
 public abstract class CalendarColumn extends Column implements ReceiverColumnInterface {
     protected static final Calendar CALENDAR = Calendar.getInstance();
+    /**
+     * Shared by all the columns that only change once a day
+     */
+    protected static final DayCache DAY_CACHE = new DayCache();
     private final static String TAG = "CalendarColumn";
     private static boolean hasRegisteredReceivers = false;
 
     /**
-     * Broadcast receiver for updating the timezone
+     * Broadcast receiver for updating the timezone and for the clock and locale changes that
+     * might start another day
      */
     private final BroadcastReceiver timeZoneReceiver = new BroadcastReceiver() {
         @Override
         public void onReceive(Context context, Intent intent) {
-            Log.d(TAG, "Setting timezone to " + TimeZone.getTimeZone(intent.getStringExtra("time-zone")));
-            CALENDAR.setTimeZone(TimeZone.getTimeZone(intent.getStringExtra("time-zone")));
+            if (Intent.ACTION_TIMEZONE_CHANGED.equals(intent.getAction())) {
+                Log.d(TAG, "Setting timezone to " + TimeZone.getTimeZone(intent.getStringExtra("time-zone")));
+                CALENDAR.setTimeZone(TimeZone.getTimeZone(intent.getStringExtra("time-zone")));
+                DAY_CACHE.setTimeZone(CALENDAR.getTimeZone());
+            } else {
+                Log.d(TAG, "Invalidating the day for " + intent.getAction());
+                DAY_CACHE.invalidate();
+            }
         }
     };
 
-    public CalendarColumn(Context context, Typeface paintTypeface, Float paintTextSize, int paintColor) {
-        super(context, paintTypeface, paintTextSize, paintColor);
+    public CalendarColumn(Context context, StyleRegistry styleRegistry, Typeface paintTypeface, Float paintTextSize) {
+        super(context, styleRegistry, paintTypeface, paintTextSize);
     }
 
     @Override
@@ -42,6 +55,7 @@ public abstract class CalendarColumn extends Column implements ReceiverColumnInt
             }
             // Update in case it changed and the receiver missed it
             CALENDAR.setTimeZone(TimeZone.getDefault());
+            DAY_CACHE.setTimeZone(TimeZone.getDefault());
         } else {
             if (hasRegisteredReceivers()) {
                 unRegisterReceivers();
@@ -53,6 +67,8 @@ public abstract class CalendarColumn extends Column implements ReceiverColumnInt
     public void registerReceivers() {
         hasRegisteredReceivers = true;
         IntentFilter filter = new IntentFilter(Intent.ACTION_TIMEZONE_CHANGED);
+        filter.addAction(Intent.ACTION_TIME_CHANGED);
+        filter.addAction(Intent.ACTION_LOCALE_CHANGED);
         context.registerReceiver(timeZoneReceiver, filter);
         Log.d(TAG, "Registered receiver");
     }
@@ -10,6 +10,7 @@ import android.util.Log;
 import com.dimitrioskanellopoulos.athletica.grid.columns.Column;
 import com.dimitrioskanellopoulos.athletica.grid.columns.interfaces.GoogleApiColumnInterface;
 import com.dimitrioskanellopoulos.athletica.grid.columns.interfaces.ReceiverColumnInterface;
+import com.dimitrioskanellopoulos.athletica.grid.styles.StyleRegistry;
 import com.google.android.gms.common.ConnectionResult;
 import com.google.android.gms.common.api.GoogleApiClient;
 
@@ -17,8 +18,8 @@ public abstract class GoogleApiColumn extends Column implements GoogleApiColumnI
         GoogleApiClient.OnConnectionFailedListener {
     private final static String TAG = "GoogleApiColumn";
 
-    public GoogleApiColumn(Context context, Typeface paintTypeface, Float paintTextSize, int paintColor) {
-        super(context, paintTypeface, paintTextSize, paintColor);
+    public GoogleApiColumn(Context context, StyleRegistry styleRegistry, Typeface paintTypeface, Float paintTextSize) {
+        super(context, styleRegistry, paintTypeface, paintTextSize);
     }
 
     @Override
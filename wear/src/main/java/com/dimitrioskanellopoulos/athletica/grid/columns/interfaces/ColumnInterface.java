@@ -2,6 +2,8 @@ package com.dimitrioskanellopoulos.athletica.grid.columns.interfaces;
 
 import android.graphics.Paint;
 
+import com.dimitrioskanellopoulos.athletica.grid.targets.interfaces.RenderTargetInterface;
+
 public interface ColumnInterface {
 
     int BASELINE_TOP = 1;
@@ -13,25 +15,32 @@ public interface ColumnInterface {
 
     void setAmbientMode(Boolean ambientMode);
 
-    void setBurnInProtection(Boolean burnInProtection);
+    String getText();
 
-    void setLowBitAmbient(Boolean lowBitAmbient);
+    void setText(String text);
 
-    void shouldAntialiasInAmbientMode(Boolean shouldAntialiasInAmbientMode);
+    void draw(RenderTargetInterface target, float x, float y);
 
-    String getText();
+    Paint getPaint();
 
-    void setText(String text);
+    float getHeight();
 
-    Integer getTextDefaultColor();
+    float getWidth();
 
-    void setTextDefaultColor(Integer color);
+    int getVersion();
 
-    Paint getPaint();
+    /**
+     * Changes whenever something that affects the size or the position of the column changes
+     */
+    int getLayoutVersion();
 
-    Float getHeight();
+    String getWidthTemplate();
 
-    Float getWidth();
+    /**
+     * Reserves the width of the worst case text, for example "88:88:88", so text changes never
+     * move the column or its row. Null measures the actual text
+     */
+    void setWidthTemplate(String widthTemplate);
 
     Float getHorizontalMargin();
 
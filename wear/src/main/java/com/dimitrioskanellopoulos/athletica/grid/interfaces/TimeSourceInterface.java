@@ -0,0 +1,11 @@
+package com.dimitrioskanellopoulos.athletica.grid.interfaces;
+
+/**
+ * Where a renderer takes the wall-clock time from. The face uses the system clock, tests pin it
+ */
+public interface TimeSourceInterface {
+    /**
+     * The time in ms, like System.currentTimeMillis()
+     */
+    long currentTimeMillis();
+}
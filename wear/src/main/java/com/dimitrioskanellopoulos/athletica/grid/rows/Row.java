@@ -1,17 +1,26 @@
 package com.dimitrioskanellopoulos.athletica.grid.rows;
 
+import android.graphics.Rect;
+
 import com.dimitrioskanellopoulos.athletica.grid.columns.Column;
 
 import java.util.LinkedHashMap;
-import java.util.Map;
 
 public class Row implements RowInterface {
     private LinkedHashMap<String, Column> columns = new LinkedHashMap<>();
+    private Column[] columnsArray = new Column[0];
     private Float marginBottom = 0.0f;
+    private Boolean dynamic = false;
+    private int structureVersion = 0;
+    private final Rect bounds = new Rect();
+    private Boolean hasBeenDrawn = false;
+    private int drawnVersion = 0;
 
     @Override
     public void putColumn(String name, Column column) {
         columns.put(name, column);
+        columnsArray = columns.values().toArray(new Column[columns.size()]);
+        structureVersion++;
     }
 
     @Override
@@ -20,6 +29,8 @@ public class Row implements RowInterface {
             columns.get(name).destroy();
         }
         columns.remove(name);
+        columnsArray = columns.values().toArray(new Column[columns.size()]);
+        structureVersion++;
     }
 
     @Override
@@ -32,6 +43,11 @@ public class Row implements RowInterface {
         return columns;
     }
 
+    @Override
+    public Column[] getAllColumnsArray() {
+        return columnsArray;
+    }
+
     @Override
     public Float getMarginBottom() {
         return marginBottom;
@@ -39,13 +55,52 @@ public class Row implements RowInterface {
 
     public void setMarginBottom(Float marginBottom) {
         this.marginBottom = marginBottom;
+        structureVersion++;
+    }
+
+    @Override
+    public Boolean isDynamic() {
+        return dynamic;
+    }
+
+    @Override
+    public void setIsDynamic(Boolean isDynamic) {
+        this.dynamic = isDynamic;
+    }
+
+    @Override
+    public int getStructureVersion() {
+        return structureVersion;
+    }
+
+    /**
+     * Combines the version of the row's structure with the versions of all its columns
+     */
+    @Override
+    public int getVersion() {
+        int version = structureVersion;
+        for (Column column : getAllColumnsArray()) {
+            version = 31 * version + column.getVersion();
+        }
+        return version;
+    }
+
+    /**
+     * Combines the version of the row's structure with the layout versions of all its columns
+     */
+    @Override
+    public int getLayoutVersion() {
+        int layoutVersion = structureVersion;
+        for (Column column : getAllColumnsArray()) {
+            layoutVersion = 31 * layoutVersion + column.getLayoutVersion();
+        }
+        return layoutVersion;
     }
 
     @Override
-    public Float getColumnsMaxHeight() {
+    public float getColumnsMaxHeight() {
         float maxTextHeight = 0f;
-        for (Map.Entry<String, Column> columnEntry : getAllColumns().entrySet()) {
-            Column column = columnEntry.getValue();
+        for (Column column : getAllColumnsArray()) {
             if (column.getHeight() > maxTextHeight) {
                 maxTextHeight = column.getHeight();
             }
@@ -54,19 +109,41 @@ public class Row implements RowInterface {
     }
 
     @Override
-    public Float getColumnsTotalWidth() {
+    public float getColumnsTotalWidth() {
         float totalTextWidth = 0f;
-        for (Map.Entry<String, Column> columnEntry : getAllColumns().entrySet()) {
-            Column column = columnEntry.getValue();
+        for (Column column : getAllColumnsArray()) {
             totalTextWidth += column.getWidth() + column.getHorizontalMargin();
         }
         return totalTextWidth;
     }
 
+    @Override
+    public Rect getBounds() {
+        return bounds;
+    }
+
+    /**
+     * Whether anything changed since the row was last drawn. Text, color and paint changes of a
+     * column all change its version and so make the row dirty.
+     * Dynamic rows are redrawn on every frame anyway and never count as dirty
+     */
+    @Override
+    public Boolean isDirty() {
+        return !dynamic && (!hasBeenDrawn || getVersion() != drawnVersion);
+    }
+
+    @Override
+    public void markDrawn() {
+        drawnVersion = getVersion();
+        hasBeenDrawn = true;
+    }
+
     public void removeAllColumns() {
         for (String columnName : columns.keySet()) {
             columns.get(columnName).destroy();
         }
         columns.clear();
+        columnsArray = new Column[0];
+        structureVersion++;
     }
 }
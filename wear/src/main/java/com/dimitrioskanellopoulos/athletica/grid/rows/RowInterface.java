@@ -1,5 +1,7 @@
 package com.dimitrioskanellopoulos.athletica.grid.rows;
 
+import android.graphics.Rect;
+
 import com.dimitrioskanellopoulos.athletica.grid.columns.Column;
 
 import java.util.LinkedHashMap;
@@ -13,12 +15,39 @@ public interface RowInterface {
 
     LinkedHashMap<String, Column> getAllColumns();
 
+    Column[] getAllColumnsArray();
+
     Float getMarginBottom();
 
     void setMarginBottom(Float verticalMargin);
 
-    Float getColumnsMaxHeight();
+    /**
+     * Dynamic rows change (almost) every frame and are drawn on top of the cached static layer
+     */
+    Boolean isDynamic();
+
+    void setIsDynamic(Boolean isDynamic);
+
+    /**
+     * Changes whenever a column is added or removed or the margin changes
+     */
+    int getStructureVersion();
+
+    int getVersion();
+
+    int getLayoutVersion();
+
+    /**
+     * The area the row covered when it was last drawn
+     */
+    Rect getBounds();
+
+    Boolean isDirty();
+
+    void markDrawn();
+
+    float getColumnsMaxHeight();
 
-    Float getColumnsTotalWidth();
+    float getColumnsTotalWidth();
 
 }
@@ -0,0 +1,105 @@
+package com.dimitrioskanellopoulos.athletica.grid.styles;
+
+import android.graphics.Paint;
+import android.graphics.Typeface;
+
+import java.util.HashMap;
+
+/**
+ * What a kind of column looks like whatever the theme or the ambient mode: the typeface, the size,
+ * the font features and optionally a color of its own. Styles are shared by all the columns of
+ * the same kind, get them from {@link StyleRegistry#getStyle}.
+ * The paints for the looks the registry asked for are kept here so switching back and forth
+ * between themes or ambient mode creates no paints
+ */
+public class ColumnStyle {
+    private final Typeface typeface;
+    private final float textSize;
+    private final String fontFeatureSettings;
+    private final Integer fixedColor;
+
+    private final HashMap<Long, Paint> paints = new HashMap<>();
+    private boolean hasLastPaint = false;
+    private long lastLook;
+    private Paint lastPaint;
+
+    ColumnStyle(Typeface typeface, float textSize, String fontFeatureSettings, Integer fixedColor) {
+        this.typeface = typeface;
+        this.textSize = textSize;
+        this.fontFeatureSettings = fontFeatureSettings;
+        this.fixedColor = fixedColor;
+    }
+
+    public Typeface getTypeface() {
+        return typeface;
+    }
+
+    public float getTextSize() {
+        return textSize;
+    }
+
+    public String getFontFeatureSettings() {
+        return fontFeatureSettings;
+    }
+
+    /**
+     * The color that overrides the one of the theme or null
+     */
+    public Integer getFixedColor() {
+        return fixedColor;
+    }
+
+    /**
+     * The paint for the given look, created the first time it is asked for
+     */
+    Paint getPaint(long look, int color, boolean antiAlias, boolean outline) {
+        if (hasLastPaint && look == lastLook) {
+            return lastPaint;
+        }
+        Paint paint = paints.get(look);
+        if (paint == null) {
+            paint = new Paint();
+            paint.setTypeface(typeface);
+            paint.setTextSize(textSize);
+            paint.setFontFeatureSettings(fontFeatureSettings);
+            paint.setColor(color);
+            paint.setAntiAlias(antiAlias);
+            paint.setStyle(outline ? Paint.Style.STROKE : Paint.Style.FILL);
+            paints.put(look, paint);
+        }
+        hasLastPaint = true;
+        lastLook = look;
+        lastPaint = paint;
+        return paint;
+    }
+
+    /**
+     * Whether this is the style for the given typeface, size, font features and color
+     */
+    boolean matches(Typeface typeface, float textSize, String fontFeatureSettings, Integer fixedColor) {
+        return this.textSize == textSize
+                && (this.typeface == null ? typeface == null : this.typeface.equals(typeface))
+                && (this.fontFeatureSettings == null ? fontFeatureSettings == null : this.fontFeatureSettings.equals(fontFeatureSettings))
+                && (this.fixedColor == null ? fixedColor == null : this.fixedColor.equals(fixedColor));
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ColumnStyle)) {
+            return false;
+        }
+        ColumnStyle style = (ColumnStyle) object;
+        return matches(style.typeface, style.textSize, style.fontFeatureSettings, style.fixedColor);
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = typeface == null ? 0 : typeface.hashCode();
+        hashCode = 31 * hashCode + Float.floatToIntBits(textSize);
+        hashCode = 31 * hashCode + (fontFeatureSettings == null ? 0 : fontFeatureSettings.hashCode());
+        return 31 * hashCode + (fixedColor == null ? 0 : fixedColor.hashCode());
+    }
+}
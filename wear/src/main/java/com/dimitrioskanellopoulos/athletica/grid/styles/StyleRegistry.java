@@ -0,0 +1,136 @@
+package com.dimitrioskanellopoulos.athletica.grid.styles;
+
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+
+import java.util.ArrayList;
+
+/**
+ * Hands out the shared column styles and the paints for the current theme and ambient mode.
+ * Columns only reference a style and ask for its paint when they need it, so switching the theme
+ * or the ambient look changes a few fields here instead of every column. The version changes when
+ * a switch changes what the paints look like so the columns know they have to be drawn again.
+ * Each grid has its own, shared by the columns put in it
+ */
+public class StyleRegistry {
+    /**
+     * A face has a handful of styles, looking them up one by one allocates no key
+     */
+    private final ArrayList<ColumnStyle> styles = new ArrayList<>();
+    private int textColor = Color.WHITE;
+    private boolean ambientMode = false;
+    private boolean lowBitAmbient = false;
+    private boolean burnInProtection = false;
+    private boolean shouldAntialiasInAmbientMode = false;
+    private boolean antiAlias = true;
+    private boolean outline = false;
+    private boolean burnInLook = false;
+    private int version = 0;
+
+    /**
+     * The shared style for the given typeface, size, font features (or null) and color of its own
+     * (or null to follow the theme)
+     */
+    public ColumnStyle getStyle(Typeface typeface, float textSize, String fontFeatureSettings, Integer fixedColor) {
+        for (int i = 0; i < styles.size(); i++) {
+            ColumnStyle style = styles.get(i);
+            if (style.matches(typeface, textSize, fontFeatureSettings, fixedColor)) {
+                return style;
+            }
+        }
+        ColumnStyle style = new ColumnStyle(typeface, textSize, fontFeatureSettings, fixedColor);
+        styles.add(style);
+        return style;
+    }
+
+    /**
+     * The paint of the style for the current theme and ambient look. Shared, do not modify it
+     */
+    public Paint getPaint(ColumnStyle style) {
+        int color = style.getFixedColor() == null ? textColor : style.getFixedColor();
+        long look = (color & 0xFFFFFFFFL) | (antiAlias ? 1L << 32 : 0) | (outline ? 1L << 33 : 0);
+        return style.getPaint(look, color, antiAlias, outline);
+    }
+
+    /**
+     * Whether the paints of the current look are antialiased
+     */
+    public boolean isAntiAlias() {
+        return antiAlias;
+    }
+
+    /**
+     * Whether the paints of the current look only draw the outlines
+     */
+    public boolean isOutline() {
+        return outline;
+    }
+
+    public int getTextColor() {
+        return textColor;
+    }
+
+    public void setTextColor(int textColor) {
+        if (textColor == this.textColor) {
+            return;
+        }
+        this.textColor = textColor;
+        version++;
+    }
+
+    public boolean isInAmbientMode() {
+        return ambientMode;
+    }
+
+    public void setAmbientMode(boolean ambientMode) {
+        this.ambientMode = ambientMode;
+        updateLook();
+    }
+
+    public boolean hasBurnInProtection() {
+        return burnInProtection;
+    }
+
+    public void setBurnInProtection(boolean burnInProtection) {
+        this.burnInProtection = burnInProtection;
+        updateLook();
+    }
+
+    public void setLowBitAmbient(boolean lowBitAmbient) {
+        this.lowBitAmbient = lowBitAmbient;
+        updateLook();
+    }
+
+    public void shouldAntialiasInAmbientMode(boolean shouldAntialiasInAmbientMode) {
+        this.shouldAntialiasInAmbientMode = shouldAntialiasInAmbientMode;
+        updateLook();
+    }
+
+    /**
+     * In ambient mode a low bit display gets no antialiasing since it can only show full pixels.
+     * Displays that have to be protected from burn in or low bit ones only get the outlines
+     * of the text so fewer pixels are lit, and columns may pick thinner styles for burn in.
+     * Settings that change none of these, like the low bit flag while interactive, do not change
+     * the version
+     */
+    private void updateLook() {
+        boolean antiAlias = !ambientMode || (shouldAntialiasInAmbientMode && !lowBitAmbient);
+        boolean outline = ambientMode && (lowBitAmbient || burnInProtection);
+        boolean burnInLook = ambientMode && burnInProtection;
+        if (antiAlias == this.antiAlias && outline == this.outline && burnInLook == this.burnInLook) {
+            return;
+        }
+        this.antiAlias = antiAlias;
+        this.outline = outline;
+        this.burnInLook = burnInLook;
+        version++;
+    }
+
+    /**
+     * Changes whenever the theme or the ambient look changes
+     */
+    public int getVersion() {
+        return version;
+    }
+}
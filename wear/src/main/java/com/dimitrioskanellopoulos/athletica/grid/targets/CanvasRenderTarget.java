@@ -0,0 +1,110 @@
+package com.dimitrioskanellopoulos.athletica.grid.targets;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+import com.dimitrioskanellopoulos.athletica.grid.targets.interfaces.RenderTargetInterface;
+
+/**
+ * Draws on an Android Canvas. Either the one of the current frame, set with setCanvas, or the
+ * one of its own bitmap when it is a layer
+ */
+public class CanvasRenderTarget implements RenderTargetInterface {
+    private Canvas canvas;
+    private Bitmap bitmap;
+
+    public CanvasRenderTarget() {
+    }
+
+    private CanvasRenderTarget(Bitmap bitmap) {
+        this.bitmap = bitmap;
+        this.canvas = new Canvas(bitmap);
+    }
+
+    /**
+     * Points the target to the canvas of the frame being drawn
+     */
+    public void setCanvas(Canvas canvas) {
+        this.canvas = canvas;
+    }
+
+    public Canvas getCanvas() {
+        return canvas;
+    }
+
+    @Override
+    public int getWidth() {
+        return canvas.getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+        return canvas.getHeight();
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, Paint paint) {
+        canvas.drawText(text, x, y, paint);
+    }
+
+    @Override
+    public void drawText(char[] text, int index, int count, float x, float y, Paint paint) {
+        canvas.drawText(text, index, count, x, y, paint);
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Rect source, RectF destination, Paint paint) {
+        canvas.drawBitmap(bitmap, source, destination, paint);
+    }
+
+    @Override
+    public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+        canvas.drawRect(left, top, right, bottom, paint);
+    }
+
+    @Override
+    public void drawLine(float startX, float startY, float stopX, float stopY, Paint paint) {
+        canvas.drawLine(startX, startY, stopX, stopY, paint);
+    }
+
+    @Override
+    public void drawColor(int color) {
+        canvas.drawColor(color);
+    }
+
+    @Override
+    public void save() {
+        canvas.save();
+    }
+
+    @Override
+    public void clipRect(Rect rect) {
+        canvas.clipRect(rect);
+    }
+
+    @Override
+    public void restore() {
+        canvas.restore();
+    }
+
+    @Override
+    public RenderTargetInterface createLayer(int width, int height) {
+        return new CanvasRenderTarget(Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888));
+    }
+
+    @Override
+    public void drawLayer(RenderTargetInterface layer, float left, float top) {
+        canvas.drawBitmap(((CanvasRenderTarget) layer).bitmap, left, top, null);
+    }
+
+    @Override
+    public void release() {
+        if (bitmap != null) {
+            bitmap.recycle();
+            bitmap = null;
+        }
+    }
+}
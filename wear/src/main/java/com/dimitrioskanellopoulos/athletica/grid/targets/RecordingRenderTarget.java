@@ -0,0 +1,179 @@
+package com.dimitrioskanellopoulos.athletica.grid.targets;
+
+import android.graphics.Bitmap;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+import com.dimitrioskanellopoulos.athletica.grid.targets.interfaces.RenderTargetInterface;
+
+import java.util.ArrayList;
+
+/**
+ * Draws nothing and counts the draw calls instead. It needs no surface so the grid can be
+ * rendered on the JVM for tests and benchmarks. Layers are recording targets too and count
+ * on their own
+ */
+public class RecordingRenderTarget implements RenderTargetInterface {
+    private final int width;
+    private final int height;
+    private final ArrayList<RecordingRenderTarget> layers = new ArrayList<>();
+
+    private int textCount = 0;
+    private int bitmapCount = 0;
+    private int rectCount = 0;
+    private int lineCount = 0;
+    private int colorCount = 0;
+    private int layerCount = 0;
+    private float lastLayerLeft = 0f;
+    private float lastLayerTop = 0f;
+    private int saveDepth = 0;
+
+    public RecordingRenderTarget(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, Paint paint) {
+        textCount++;
+    }
+
+    @Override
+    public void drawText(char[] text, int index, int count, float x, float y, Paint paint) {
+        textCount++;
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Rect source, RectF destination, Paint paint) {
+        bitmapCount++;
+    }
+
+    @Override
+    public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+        rectCount++;
+    }
+
+    @Override
+    public void drawLine(float startX, float startY, float stopX, float stopY, Paint paint) {
+        lineCount++;
+    }
+
+    @Override
+    public void drawColor(int color) {
+        colorCount++;
+    }
+
+    @Override
+    public void save() {
+        saveDepth++;
+    }
+
+    @Override
+    public void clipRect(Rect rect) {
+    }
+
+    @Override
+    public void restore() {
+        if (saveDepth == 0) {
+            throw new IllegalStateException("Restore without a matching save");
+        }
+        saveDepth--;
+    }
+
+    @Override
+    public RenderTargetInterface createLayer(int width, int height) {
+        RecordingRenderTarget layer = new RecordingRenderTarget(width, height);
+        layers.add(layer);
+        return layer;
+    }
+
+    @Override
+    public void drawLayer(RenderTargetInterface layer, float left, float top) {
+        layerCount++;
+        lastLayerLeft = left;
+        lastLayerTop = top;
+    }
+
+    @Override
+    public void release() {
+    }
+
+    public int getTextCount() {
+        return textCount;
+    }
+
+    public int getBitmapCount() {
+        return bitmapCount;
+    }
+
+    public int getRectCount() {
+        return rectCount;
+    }
+
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    public int getColorCount() {
+        return colorCount;
+    }
+
+    public int getLayerCount() {
+        return layerCount;
+    }
+
+    /**
+     * Where the last layer was drawn
+     */
+    public float getLastLayerLeft() {
+        return lastLayerLeft;
+    }
+
+    public float getLastLayerTop() {
+        return lastLayerTop;
+    }
+
+    /**
+     * All the calls that would have drawn something
+     */
+    public int getDrawCallCount() {
+        return textCount + bitmapCount + rectCount + lineCount + colorCount + layerCount;
+    }
+
+    public int getSaveDepth() {
+        return saveDepth;
+    }
+
+    /**
+     * The layers created from this target in the order they were created
+     */
+    public ArrayList<RecordingRenderTarget> getLayers() {
+        return layers;
+    }
+
+    /**
+     * Zeroes the counters of the target and of its layers
+     */
+    public void reset() {
+        textCount = 0;
+        bitmapCount = 0;
+        rectCount = 0;
+        lineCount = 0;
+        colorCount = 0;
+        layerCount = 0;
+        for (RecordingRenderTarget layer : layers) {
+            layer.reset();
+        }
+    }
+}
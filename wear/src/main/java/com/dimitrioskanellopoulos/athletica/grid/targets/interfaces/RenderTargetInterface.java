@@ -0,0 +1,49 @@
+package com.dimitrioskanellopoulos.athletica.grid.targets.interfaces;
+
+import android.graphics.Bitmap;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+/**
+ * Whatever the grid gets drawn on. The draw calls mirror the ones of a Canvas so the renderer
+ * does not care if it draws on the screen, into an offscreen layer or into a recording
+ */
+public interface RenderTargetInterface {
+    int getWidth();
+
+    int getHeight();
+
+    void drawText(String text, float x, float y, Paint paint);
+
+    void drawText(char[] text, int index, int count, float x, float y, Paint paint);
+
+    void drawBitmap(Bitmap bitmap, Rect source, RectF destination, Paint paint);
+
+    void drawRect(float left, float top, float right, float bottom, Paint paint);
+
+    void drawLine(float startX, float startY, float stopX, float stopY, Paint paint);
+
+    void drawColor(int color);
+
+    void save();
+
+    void clipRect(Rect rect);
+
+    void restore();
+
+    /**
+     * Creates an offscreen target of the same kind that can be drawn back with drawLayer
+     */
+    RenderTargetInterface createLayer(int width, int height);
+
+    /**
+     * Draws a layer created by this target with its top left corner at left, top
+     */
+    void drawLayer(RenderTargetInterface layer, float left, float top);
+
+    /**
+     * Frees what the target holds. Only for layers
+     */
+    void release();
+}
@@ -0,0 +1,33 @@
+package com.dimitrioskanellopoulos.athletica.grid.themes;
+
+/**
+ * The colors of a theme. The lower half of the face is painted with the secondary background,
+ * which is the background itself unless the background is split into two colors
+ */
+public class Palette {
+    private final int backgroundColor;
+    private final int secondaryBackgroundColor;
+    private final int textColor;
+
+    Palette(int backgroundColor, int secondaryBackgroundColor, int textColor) {
+        this.backgroundColor = backgroundColor;
+        this.secondaryBackgroundColor = secondaryBackgroundColor;
+        this.textColor = textColor;
+    }
+
+    public int getBackgroundColor() {
+        return backgroundColor;
+    }
+
+    public int getSecondaryBackgroundColor() {
+        return secondaryBackgroundColor;
+    }
+
+    public int getTextColor() {
+        return textColor;
+    }
+
+    public boolean hasTwoColorBackground() {
+        return secondaryBackgroundColor != backgroundColor;
+    }
+}
@@ -0,0 +1,154 @@
+package com.dimitrioskanellopoulos.athletica.grid.themes;
+
+import android.graphics.Color;
+
+/**
+ * Picks the palette of the face from the configuration and the time of day. All the palettes are
+ * built once, switching between them only changes a reference and the version.
+ * In day night mode the switch happens at the next sunrise or sunset, which is worked out when
+ * the times are set, so {@link #update(long)} is a single comparison until then.
+ * Ambient mode always gets the black palette with a single color background
+ */
+public class ThemeEngine {
+    private static final long DAY_MS = 24 * 60 * 60 * 1000L;
+
+    /**
+     * The lower half of a split background. Close enough to keep the text readable on both
+     */
+    private static final int DARK_SECONDARY_BACKGROUND = 0xFF262626;
+    private static final int LIGHT_SECONDARY_BACKGROUND = 0xFFD9D9D9;
+
+    /**
+     * Indexed by [light background][two color background]
+     */
+    private static final Palette[][] PALETTES = {
+            {
+                    new Palette(Color.BLACK, Color.BLACK, Color.WHITE),
+                    new Palette(Color.BLACK, DARK_SECONDARY_BACKGROUND, Color.WHITE)
+            },
+            {
+                    new Palette(Color.WHITE, Color.WHITE, Color.BLACK),
+                    new Palette(Color.WHITE, LIGHT_SECONDARY_BACKGROUND, Color.BLACK)
+            }
+    };
+    /**
+     * A lit background, or a lit lower half, wastes power and wears the display in. Low bit
+     * displays cannot show the grey of the split background at all
+     */
+    private static final Palette AMBIENT_PALETTE = PALETTES[0][0];
+
+    private boolean ambientMode = false;
+    private boolean invertBlackAndWhite = false;
+    private boolean dayNightMode = false;
+    private boolean twoColorBackground = false;
+
+    private boolean hasSunriseSunset = false;
+    private long sunriseMs;
+    private long sunsetMs;
+    private boolean isNight = false;
+    private long nextTransitionMs = Long.MAX_VALUE;
+
+    private Palette palette = PALETTES[0][0];
+    private int version = 0;
+
+    public void setAmbientMode(boolean ambientMode) {
+        this.ambientMode = ambientMode;
+        selectPalette();
+    }
+
+    public void setInvertBlackAndWhite(boolean invertBlackAndWhite) {
+        this.invertBlackAndWhite = invertBlackAndWhite;
+        selectPalette();
+    }
+
+    public void setDayNightMode(boolean dayNightMode) {
+        this.dayNightMode = dayNightMode;
+        selectPalette();
+    }
+
+    public void setTwoColorBackground(boolean twoColorBackground) {
+        this.twoColorBackground = twoColorBackground;
+        selectPalette();
+    }
+
+    /**
+     * Sets the sunrise and sunset of any one day. Later days are assumed to have the same times,
+     * which is what the sunrise and sunset column shows until it calculates them again.
+     * The next {@link #update(long)} works out where it stands between them
+     */
+    public void setSunriseSunset(long sunriseMs, long sunsetMs) {
+        if (hasSunriseSunset && sunriseMs == this.sunriseMs && sunsetMs == this.sunsetMs) {
+            return;
+        }
+        hasSunriseSunset = true;
+        this.sunriseMs = sunriseMs;
+        this.sunsetMs = sunsetMs;
+        nextTransitionMs = Long.MIN_VALUE;
+    }
+
+    /**
+     * Switches between day and night once their time comes
+     */
+    public void update(long nowMs) {
+        if (nowMs < nextTransitionMs) {
+            return;
+        }
+        // Move the sunrise to the last one at or before now and the sunset to the one after it
+        long days = (nowMs - sunriseMs) / DAY_MS;
+        if (nowMs < sunriseMs + days * DAY_MS) {
+            days--;
+        }
+        long sunrise = sunriseMs + days * DAY_MS;
+        long sunset = sunsetMs + days * DAY_MS;
+        while (sunset <= sunrise) {
+            sunset += DAY_MS;
+        }
+        while (sunset > sunrise + DAY_MS) {
+            sunset -= DAY_MS;
+        }
+
+        if (nowMs < sunset) {
+            isNight = false;
+            nextTransitionMs = sunset;
+        } else {
+            isNight = true;
+            nextTransitionMs = sunrise + DAY_MS;
+        }
+        selectPalette();
+    }
+
+    private void selectPalette() {
+        boolean lightBackground = invertBlackAndWhite ^ (dayNightMode && isNight);
+        Palette palette = ambientMode ? AMBIENT_PALETTE : PALETTES[lightBackground ? 1 : 0][twoColorBackground ? 1 : 0];
+        if (palette == this.palette) {
+            return;
+        }
+        this.palette = palette;
+        version++;
+    }
+
+    public Palette getPalette() {
+        return palette;
+    }
+
+    /**
+     * Changes whenever the palette changes
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Until the sunrise and sunset are known it is always day
+     */
+    public boolean isNight() {
+        return isNight;
+    }
+
+    /**
+     * When the next sunrise or sunset is due, Long.MAX_VALUE if they are not known
+     */
+    public long getNextTransitionMs() {
+        return nextTransitionMs;
+    }
+}
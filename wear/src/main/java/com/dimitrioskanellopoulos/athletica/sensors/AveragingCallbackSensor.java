@@ -6,6 +6,7 @@ import android.os.PowerManager;
 import android.support.annotation.NonNull;
 import android.util.Log;
 
+import com.dimitrioskanellopoulos.athletica.BuildConfig;
 import com.dimitrioskanellopoulos.athletica.sensors.interfaces.OnSensorAverageEventCallbackInterface;
 import com.dimitrioskanellopoulos.athletica.sensors.interfaces.OnSensorEventCallbackInterface;
 import com.dimitrioskanellopoulos.athletica.sensors.interfaces.SensorAverageListenerInterface;
@@ -30,6 +31,7 @@ public class AveragingCallbackSensor extends CallbackSensor implements
      */
     private final PowerManager powerManager;
     private final PowerManager.WakeLock wakeLock;
+    private boolean isAveraging = false;
 
     AveragingCallbackSensor(@NonNull Context context,
                             Integer sensorType,
@@ -44,15 +46,17 @@ public class AveragingCallbackSensor extends CallbackSensor implements
     }
 
     @Override
-    public void getAverage() {
+    public synchronized void getAverage() {
         Log.d(TAG, "Acquiring wake lock");
         wakeLock.acquire();
-        if (isListening) {
+        if (isListening || isBatching) {
             stopListening();
         }
         Log.d(TAG, "Starting average calculation");
+        averagingSensorEventListener.reset();
+        isAveraging = true;
         isListening = true;
-        sensorManager.registerListener(averagingSensorEventListener, sensor, AVERAGE_SAMPLING_PERIOD_US, AVERAGE_MAX_REPORT_LATENCY_US);
+        sensorHub.registerListener(averagingSensorEventListener, sensor, AVERAGE_SAMPLING_PERIOD_US, AVERAGE_MAX_REPORT_LATENCY_US);
     }
 
     @Override
@@ -61,23 +65,37 @@ public class AveragingCallbackSensor extends CallbackSensor implements
     }
 
     @Override
-    public void stopListening() {
+    public SampleRingBuffer getSamples() {
+        return averagingSensorEventListener.getSamples();
+    }
+
+    @Override
+    public synchronized void stopListening() {
         if (wakeLock.isHeld()) {
             Log.d(TAG, "Releasing wake lock");
             wakeLock.release();
         }
-        sensorManager.unregisterListener(averagingSensorEventListener);
+        sensorHub.unregisterListener(averagingSensorEventListener);
+        isAveraging = false;
         super.stopListening();
     }
 
+    /**
+     * Called on the thread of the sensor hub with the lock of the sensor released. The main thread
+     * may have started over or stopped meanwhile, then the average is dropped
+     */
     @Override
     public void handleOnSensorAverageChangedEvent(Sensor sensor, Integer sensorType, float[] eventValues) {
-        if (wakeLock.isHeld()) {
-            Log.d(TAG, "Releasing wake lock");
-            wakeLock.release();
+        synchronized (this) {
+            if (!isAveraging || !averagingSensorEventListener.isComplete()) {
+                return;
+            }
+            // Releases the wake lock too
+            stopListening();
+        }
+        if (BuildConfig.DEBUG) {
+            Log.d(TAG, "Average calculated: " + eventValues[0]);
         }
-        stopListening();
-        Log.d(TAG, "Average calculated: " + String.format("%.01f", eventValues[0]));
         if (isEventValuesAcceptable(eventValues)) {
             averageChangeCallback.handleOnSensorAverageChangedEvent(sensor, sensorType, eventValues);
         }
@@ -3,29 +3,68 @@ package com.dimitrioskanellopoulos.athletica.sensors;
 import android.content.Context;
 import android.hardware.Sensor;
 import android.hardware.SensorManager;
+import android.os.Handler;
 import android.support.annotation.NonNull;
 import android.util.Log;
 
 import com.dimitrioskanellopoulos.athletica.sensors.interfaces.OnSensorEventCallbackInterface;
+import com.dimitrioskanellopoulos.athletica.sensors.interfaces.SensorFilterInterface;
 import com.dimitrioskanellopoulos.athletica.sensors.interfaces.SensorListenerInterface;
 import com.dimitrioskanellopoulos.athletica.sensors.listeners.ContinuousSensorEventListener;
 
+/**
+ * The events arrive, are filtered and are handed to the callback on the thread of the sensor hub.
+ * The controls are only called from the main thread. Everything that touches the state of the
+ * sensor holds its lock, the controls while they change the registration with the hub too, so an
+ * event arriving meanwhile waits for them. The callbacks are called with the lock released, what
+ * they get is copied under it
+ */
 public class CallbackSensor implements SensorListenerInterface, OnSensorEventCallbackInterface {
     public final static int TYPE_PRESSURE_ALTITUDE = 10000;
     // For continuous events
     private final static Integer samplingPeriodUs = SensorManager.SENSOR_DELAY_UI;
     private final static Integer maxReportLatencyUs = SensorManager.SENSOR_DELAY_UI; // 1 sec
+    // For batching in the sensor hub's FIFO while idle
+    private final static Integer BATCH_SAMPLING_PERIOD_US = 1000000; // 1 sec
+    private final static Integer BATCH_MAX_REPORT_LATENCY_US = 300000000; // 5 min
     protected final String TAG;
     protected final Sensor sensor;
     final SensorManager sensorManager;
+    final SensorHub sensorHub;
     private final OnSensorEventCallbackInterface changeCallback;
     private final ContinuousSensorEventListener continuousSensorEventListener = new ContinuousSensorEventListener(this);
+    private final SensorBatchStatistics batchStatistics = new SensorBatchStatistics();
+    private final Handler handler;
+    private final Runnable dispatchBatchTask = new Runnable() {
+        @Override
+        public void run() {
+            dispatchBatch();
+        }
+    };
     Boolean isListening = false;
+    Boolean isBatching = false;
+    private boolean isFlushPending = false;
+    private boolean isDispatchPending = false;
+    private float[] batchValues = new float[0];
+    /**
+     * The values handed to the callback, only used on the thread of the sensor hub
+     */
+    private float[] dispatchValues = new float[0];
+    private int batchSize = 0;
+    private SensorFilterInterface filter;
 
     CallbackSensor(@NonNull Context context, Integer sensorType,
                    @NonNull OnSensorEventCallbackInterface changeCallback) {
+        this((SensorManager) context.getSystemService(Context.SENSOR_SERVICE), SensorHub.getInstance(context),
+                sensorType, changeCallback);
+    }
+
+    CallbackSensor(SensorManager sensorManager, SensorHub sensorHub, Integer sensorType,
+                   @NonNull OnSensorEventCallbackInterface changeCallback) {
         this.changeCallback = changeCallback;
-        sensorManager = (SensorManager) context.getSystemService(Context.SENSOR_SERVICE);
+        this.sensorManager = sensorManager;
+        this.sensorHub = sensorHub;
+        handler = sensorHub.getHandler();
         sensor = sensorManager.getDefaultSensor(sensorType);
         TAG = sensor.getStringType();
     }
@@ -35,23 +74,177 @@ public class CallbackSensor implements SensorListenerInterface, OnSensorEventCal
         return true;
     }
 
+    /**
+     * The values run through the filter between the listeners and the callbacks. Null lets them
+     * through as they are
+     */
+    public synchronized void setFilter(SensorFilterInterface filter) {
+        this.filter = filter;
+    }
+
+    @Override
+    public synchronized Boolean filterEventValues(float[] eventValues, long timestampNs) {
+        if (!isEventValuesAcceptable(eventValues)) {
+            return false;
+        }
+        return filter == null || filter.filter(eventValues, timestampNs);
+    }
+
+    @Override
+    public synchronized void resetFilter() {
+        if (filter != null) {
+            filter.reset();
+        }
+    }
+
     @Override
-    public void startListening() {
+    public synchronized void startListening() {
+        if (isBatching) {
+            if (isFlushPending) {
+                return;
+            }
+            // Hand over what the sensor hub buffered first, listening closely starts once it arrived
+            if (sensorHub.flush(continuousSensorEventListener)) {
+                isFlushPending = true;
+                batchStatistics.recordFlush();
+                Log.d(TAG, "Flushing the batch");
+                return;
+            }
+        }
+        listenClosely();
+    }
+
+    private void listenClosely() {
+        boolean wasStopped = !isListening && !isBatching;
         if (isListening) {
             stopListening();
+        } else if (isBatching) {
+            // Only the rate of the registration below changes, the values of the flushed batch
+            // are still to be dispatched
+            isBatching = false;
+            isFlushPending = false;
+        }
+        // The filters would otherwise judge the first values against ones from before the pause
+        if (wasStopped) {
+            resetFilter();
         }
         isListening = true;
-        sensorManager.registerListener(continuousSensorEventListener, sensor, samplingPeriodUs, maxReportLatencyUs);
+        sensorHub.registerListener(continuousSensorEventListener, sensor, samplingPeriodUs, maxReportLatencyUs);
         Log.d(TAG, "Started listening");
     }
 
     @Override
-    public void stopListening() {
-        sensorManager.unregisterListener(continuousSensorEventListener);
+    public Boolean canBatch() {
+        return sensor.getFifoMaxEventCount() > 0;
+    }
+
+    @Override
+    public synchronized Boolean isBatching() {
+        return isBatching;
+    }
+
+    @Override
+    public synchronized void startBatching() {
+        if (isBatching) {
+            return;
+        }
+        if (!canBatch()) {
+            stopListening();
+            return;
+        }
+        boolean wasStopped = !isListening;
+        if (isListening) {
+            stopListening();
+        }
+        if (wasStopped) {
+            resetFilter();
+        }
+        isBatching = true;
+        sensorHub.registerListener(continuousSensorEventListener, sensor, BATCH_SAMPLING_PERIOD_US, BATCH_MAX_REPORT_LATENCY_US);
+        Log.d(TAG, "Started batching, FIFO " + sensor.getFifoMaxEventCount() + " events");
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (!isBatching || isFlushPending) {
+            return;
+        }
+        if (sensorHub.flush(continuousSensorEventListener)) {
+            batchStatistics.recordFlush();
+        }
+    }
+
+    /**
+     * The flush asked for by {@link #startListening()} was delivered
+     */
+    public synchronized void handleOnFlushCompleted() {
+        if (!isFlushPending) {
+            return;
+        }
+        listenClosely();
+    }
+
+    @Override
+    public synchronized void stopListening() {
+        sensorHub.unregisterListener(continuousSensorEventListener);
+        handler.removeCallbacks(dispatchBatchTask);
+        isDispatchPending = false;
+        batchSize = 0;
         isListening = false;
+        isBatching = false;
+        isFlushPending = false;
         Log.d(TAG, "Stopped listening");
     }
 
+    /**
+     * Keeps the filtered values of an event. The events delivered together, a whole batch from
+     * the FIFO, reach the callback once with the values of the newest
+     */
+    public synchronized void queueEventValues(float[] eventValues) {
+        // The hub may still deliver an event it was dispatching when the sensor stopped
+        if (!isListening && !isBatching) {
+            return;
+        }
+        if (batchValues.length != eventValues.length) {
+            batchValues = new float[eventValues.length];
+        }
+        System.arraycopy(eventValues, 0, batchValues, 0, eventValues.length);
+        batchSize++;
+        if (!isDispatchPending) {
+            isDispatchPending = true;
+            handler.post(dispatchBatchTask);
+        }
+    }
+
+    /**
+     * Runs on the thread of the sensor hub once after all the events of a delivery were queued. A
+     * stop in between the copy and the callback may still let the newest values through, like an
+     * event already being delivered
+     */
+    void dispatchBatch() {
+        synchronized (this) {
+            if (!isDispatchPending) {
+                return;
+            }
+            isDispatchPending = false;
+            batchStatistics.recordBatch(batchSize);
+            batchSize = 0;
+            if (dispatchValues.length != batchValues.length) {
+                dispatchValues = new float[batchValues.length];
+            }
+            System.arraycopy(batchValues, 0, dispatchValues, 0, batchValues.length);
+        }
+        handleOnSensorChangedEvent(sensor, sensor.getType(), dispatchValues);
+    }
+
+    public String getStringType() {
+        return TAG;
+    }
+
+    public SensorBatchStatistics getBatchStatistics() {
+        return batchStatistics;
+    }
+
     @Override
     public void handleOnSensorChangedEvent(Sensor sensor, Integer sensorType, float[] eventValues) {
         if (isEventValuesAcceptable(eventValues)) {
@@ -4,8 +4,15 @@ import android.content.Context;
 import android.hardware.Sensor;
 import android.support.annotation.NonNull;
 
+import com.dimitrioskanellopoulos.athletica.sensors.filters.ExponentialMovingAverageFilter;
+import com.dimitrioskanellopoulos.athletica.sensors.filters.FilterPipeline;
+import com.dimitrioskanellopoulos.athletica.sensors.filters.KalmanFilter;
+import com.dimitrioskanellopoulos.athletica.sensors.filters.MedianFilter;
+import com.dimitrioskanellopoulos.athletica.sensors.filters.OneEuroFilter;
+import com.dimitrioskanellopoulos.athletica.sensors.filters.OutlierRejectionFilter;
 import com.dimitrioskanellopoulos.athletica.sensors.interfaces.OnSensorAverageEventCallbackInterface;
 import com.dimitrioskanellopoulos.athletica.sensors.interfaces.OnSensorEventCallbackInterface;
+import com.dimitrioskanellopoulos.athletica.sensors.interfaces.SensorFilterInterface;
 
 public class CallbackSensorFactory {
     public static AveragingCallbackSensor getCallbackSensor(@NonNull Context context, Integer sensorType,
@@ -22,6 +29,38 @@ public class CallbackSensorFactory {
             default:
                 callbackSensor = new AveragingCallbackSensor(context, sensorType, changeCallback, averageChangeCallback);
         }
+        callbackSensor.setFilter(getFilterForSensorType(sensorType));
         return callbackSensor;
     }
+
+    /**
+     * The filters that keep the shown values of a sensor type steady, null for none
+     */
+    public static SensorFilterInterface getFilterForSensorType(Integer sensorType) {
+        switch (sensorType) {
+            case Sensor.TYPE_HEART_RATE:
+                // Optical readings jump when the watch moves on the wrist
+                return new FilterPipeline(
+                        new OutlierRejectionFilter(10, 3f, 15f),
+                        new MedianFilter(5)
+                );
+            case Sensor.TYPE_PRESSURE:
+            case CallbackSensor.TYPE_PRESSURE_ALTITUDE:
+                // Steady with a little noise, which the altitude multiplies by about 8 m/hPa
+                return new FilterPipeline(
+                        new OutlierRejectionFilter(10, 4f, 1f),
+                        new KalmanFilter(0.001f, 0.05f)
+                );
+            case Sensor.TYPE_AMBIENT_TEMPERATURE:
+            case Sensor.TYPE_RELATIVE_HUMIDITY:
+                return new KalmanFilter(0.001f, 0.1f);
+            case Sensor.TYPE_ACCELEROMETER:
+            case Sensor.TYPE_MAGNETIC_FIELD:
+                return new OneEuroFilter(1f, 0.05f, 1f);
+            case Sensor.TYPE_LIGHT:
+                return new ExponentialMovingAverageFilter(0.3f);
+            default:
+                return null;
+        }
+    }
 }
@@ -5,6 +5,7 @@ import android.hardware.Sensor;
 import android.support.annotation.NonNull;
 import android.util.Log;
 
+import com.dimitrioskanellopoulos.athletica.BuildConfig;
 import com.dimitrioskanellopoulos.athletica.sensors.interfaces.OnSensorAverageEventCallbackInterface;
 import com.dimitrioskanellopoulos.athletica.sensors.interfaces.OnSensorEventCallbackInterface;
 
@@ -21,11 +22,13 @@ class HeartRateSensor extends AveragingCallbackSensor {
 
     @Override
     public Boolean isEventValuesAcceptable(float[] eventValues) {
+        // Called for every event, on the thread of the sensor hub
         if (eventValues[0] == 0.0f) {
-            Log.d(TAG, "Event value was 0 thus not accepted");
+            if (BuildConfig.DEBUG) {
+                Log.d(TAG, "Event value was 0 thus not accepted");
+            }
             return false;
         }
-        Log.d(TAG, "Event value " + eventValues[0] + " accepted");
         return super.isEventValuesAcceptable(eventValues);
     }
 
@@ -0,0 +1,29 @@
+package com.dimitrioskanellopoulos.athletica.sensors;
+
+/**
+ * Hands the latest result of the sensor thread to the thread that draws without locks. There is
+ * a single writer. The value must be immutable, it is published as a whole with a volatile write.
+ * The sequence changes with every publication, even of an equal value, so a reader can tell it
+ * got something new. It is written after the value, so a reader that sees a sequence sees at
+ * least that value
+ */
+public class LatestValue<T> {
+    private volatile T value;
+    private volatile int sequence = 0;
+
+    /**
+     * Only from the writer thread
+     */
+    public void publish(T value) {
+        this.value = value;
+        sequence++;
+    }
+
+    public T get() {
+        return value;
+    }
+
+    public int getSequence() {
+        return sequence;
+    }
+}
@@ -0,0 +1,192 @@
+package com.dimitrioskanellopoulos.athletica.sensors;
+
+/**
+ * Keeps the last samples of a sensor, one value per axis, in primitive arrays together with their
+ * running sum, mean and variance (Welford) and their min and max. Once full the oldest sample
+ * makes room for the newest one. Adding a sample allocates nothing.
+ * The number of axes is taken from the first sample after a clear, up to the maximum given
+ */
+public class SampleRingBuffer {
+    private final int capacity;
+    private final int maxAxes;
+    /**
+     * Sample i of axis a is at [a * capacity + i]
+     */
+    private final float[] samples;
+    private final double[] sums;
+    private final double[] means;
+    private final double[] squaredDeviations;
+    private final float[] mins;
+    private final float[] maxes;
+    /**
+     * Whether an evicted sample was the min or the max so they have to be found again
+     */
+    private final boolean[] isMinMaxStale;
+
+    private int axes = 0;
+    private int count = 0;
+    private int head = 0;
+
+    public SampleRingBuffer(int capacity, int maxAxes) {
+        this.capacity = capacity;
+        this.maxAxes = maxAxes;
+        samples = new float[capacity * maxAxes];
+        sums = new double[maxAxes];
+        means = new double[maxAxes];
+        squaredDeviations = new double[maxAxes];
+        mins = new float[maxAxes];
+        maxes = new float[maxAxes];
+        isMinMaxStale = new boolean[maxAxes];
+    }
+
+    /**
+     * Adds the values of a sensor event, evicting the oldest sample if full
+     */
+    public void add(float[] values) {
+        if (count == 0) {
+            axes = Math.min(values.length, maxAxes);
+        }
+        boolean isEvicting = count == capacity;
+        for (int axis = 0; axis < axes; axis++) {
+            int index = axis * capacity + head;
+            if (isEvicting) {
+                remove(axis, samples[index]);
+            }
+            float value = axis < values.length ? values[axis] : 0f;
+            samples[index] = value;
+            add(axis, value, isEvicting ? count - 1 : count);
+        }
+        head = (head + 1) % capacity;
+        if (!isEvicting) {
+            count++;
+        }
+    }
+
+    private void add(int axis, float value, int previousCount) {
+        int newCount = previousCount + 1;
+        double delta = value - means[axis];
+        means[axis] += delta / newCount;
+        squaredDeviations[axis] += delta * (value - means[axis]);
+        sums[axis] += value;
+        if (previousCount == 0) {
+            mins[axis] = value;
+            maxes[axis] = value;
+            isMinMaxStale[axis] = false;
+        } else if (!isMinMaxStale[axis]) {
+            mins[axis] = Math.min(mins[axis], value);
+            maxes[axis] = Math.max(maxes[axis], value);
+        }
+    }
+
+    /**
+     * Takes a sample out of the statistics of an axis. The count is still the one with it
+     */
+    private void remove(int axis, float value) {
+        int newCount = count - 1;
+        sums[axis] -= value;
+        if (newCount == 0) {
+            means[axis] = 0;
+            squaredDeviations[axis] = 0;
+        } else {
+            double delta = value - means[axis];
+            means[axis] -= delta / newCount;
+            squaredDeviations[axis] -= delta * (value - means[axis]);
+        }
+        if (value == mins[axis] || value == maxes[axis]) {
+            isMinMaxStale[axis] = true;
+        }
+    }
+
+    public void clear() {
+        for (int axis = 0; axis < maxAxes; axis++) {
+            sums[axis] = 0;
+            means[axis] = 0;
+            squaredDeviations[axis] = 0;
+            isMinMaxStale[axis] = false;
+        }
+        axes = 0;
+        count = 0;
+        head = 0;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public boolean isFull() {
+        return count == capacity;
+    }
+
+    public int getAxes() {
+        return axes;
+    }
+
+    public float getSum(int axis) {
+        return (float) sums[axis];
+    }
+
+    public float getMean(int axis) {
+        return (float) means[axis];
+    }
+
+    /**
+     * The population variance of the samples kept
+     */
+    public float getVariance(int axis) {
+        if (count == 0) {
+            return 0f;
+        }
+        // Rounding can take the removals slightly below zero
+        return (float) Math.max(squaredDeviations[axis] / count, 0);
+    }
+
+    public float getStandardDeviation(int axis) {
+        return (float) Math.sqrt(getVariance(axis));
+    }
+
+    public float getMin(int axis) {
+        updateMinMax(axis);
+        return mins[axis];
+    }
+
+    public float getMax(int axis) {
+        updateMinMax(axis);
+        return maxes[axis];
+    }
+
+    /**
+     * The newest sample of an axis
+     */
+    public float getLatest(int axis) {
+        return samples[axis * capacity + (head + capacity - 1) % capacity];
+    }
+
+    /**
+     * Copies the means of all the axes into the values, which must fit them
+     */
+    public void getMeans(float[] values) {
+        for (int axis = 0; axis < axes; axis++) {
+            values[axis] = (float) means[axis];
+        }
+    }
+
+    private void updateMinMax(int axis) {
+        if (!isMinMaxStale[axis]) {
+            return;
+        }
+        int start = axis * capacity;
+        float min = samples[start];
+        float max = samples[start];
+        for (int i = 1; i < count; i++) {
+            min = Math.min(min, samples[start + i]);
+            max = Math.max(max, samples[start + i]);
+        }
+        mins[axis] = min;
+        maxes[axis] = max;
+        isMinMaxStale[axis] = false;
+    }
+}
@@ -0,0 +1,91 @@
+package com.dimitrioskanellopoulos.athletica.sensors;
+
+import java.io.PrintWriter;
+
+/**
+ * Counts how the events of a sensor reach the app: how many deliveries (each one wakes the app
+ * processor or finds it awake), how many events each delivery carried and how many flushes were
+ * asked for. Recording is a few increments so it can stay on in release builds
+ */
+public class SensorBatchStatistics {
+    /**
+     * The upper limits (inclusive) of the batch size buckets. The last bucket takes everything
+     * bigger
+     */
+    private static final int[] BUCKET_LIMITS = {1, 2, 4, 8, 16, 32, 64, 128, 256};
+
+    private final long[] bucketCounts = new long[BUCKET_LIMITS.length + 1];
+    private long deliveryCount = 0;
+    private long eventCount = 0;
+    private int maxBatchSize = 0;
+    private long flushCount = 0;
+
+    /**
+     * Records the events that arrived together
+     */
+    public void recordBatch(int batchSize) {
+        int bucket = 0;
+        while (bucket < BUCKET_LIMITS.length && batchSize > BUCKET_LIMITS[bucket]) {
+            bucket++;
+        }
+        bucketCounts[bucket]++;
+        deliveryCount++;
+        eventCount += batchSize;
+        if (batchSize > maxBatchSize) {
+            maxBatchSize = batchSize;
+        }
+    }
+
+    public void recordFlush() {
+        flushCount++;
+    }
+
+    public long getDeliveryCount() {
+        return deliveryCount;
+    }
+
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    public float getMeanBatchSize() {
+        if (deliveryCount == 0) {
+            return 0f;
+        }
+        return (float) eventCount / deliveryCount;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public long getFlushCount() {
+        return flushCount;
+    }
+
+    public void reset() {
+        for (int bucket = 0; bucket < bucketCounts.length; bucket++) {
+            bucketCounts[bucket] = 0;
+        }
+        deliveryCount = 0;
+        eventCount = 0;
+        maxBatchSize = 0;
+        flushCount = 0;
+    }
+
+    public void dump(String prefix, PrintWriter writer) {
+        writer.println(prefix + "deliveries=" + deliveryCount
+                + " events=" + eventCount
+                + " mean batch=" + getMeanBatchSize()
+                + " max batch=" + maxBatchSize
+                + " flushes=" + flushCount);
+        StringBuilder histogram = new StringBuilder(prefix + "  batch sizes:");
+        for (int bucket = 0; bucket < bucketCounts.length; bucket++) {
+            histogram.append(' ')
+                    .append(bucket < BUCKET_LIMITS.length ? "<=" + BUCKET_LIMITS[bucket] : ">" + BUCKET_LIMITS[BUCKET_LIMITS.length - 1])
+                    .append('=')
+                    .append(bucketCounts[bucket]);
+        }
+        writer.println(histogram);
+    }
+}
@@ -0,0 +1,348 @@
+package com.dimitrioskanellopoulos.athletica.sensors;
+
+import android.content.Context;
+import android.hardware.Sensor;
+import android.hardware.SensorEvent;
+import android.hardware.SensorEventListener;
+import android.hardware.SensorEventListener2;
+import android.hardware.SensorManager;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Process;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Shares the sensors between everything that listens to them. Each sensor type is registered
+ * with the SensorManager once, at the highest rate and the shortest report latency any of its
+ * listeners asked for, and its events are fanned out to the listeners. A listener that asked for
+ * a lower rate gets only as many events as it asked for. The registration is released when the
+ * last listener leaves.
+ * The sensors are registered on a thread of their own, so the listeners, with their filtering and
+ * averaging, run there and not on the main thread that draws. The methods mirror the ones of the
+ * SensorManager and can be called from any thread. No listener is called while the hub is locked
+ */
+public class SensorHub {
+    private static final String TAG = "SensorHub";
+    /**
+     * Events up to this much early still count as on time for a decimated listener, sensors do
+     * not keep their rate exactly
+     */
+    private static final float RATE_TOLERANCE = 0.9f;
+
+    private static SensorHub instance;
+
+    private final SensorManager sensorManager;
+    private final Handler handler;
+    private final HashMap<Integer, Channel> channels = new HashMap<>();
+
+    /**
+     * @param handler of the thread the sensors deliver their events on
+     */
+    SensorHub(SensorManager sensorManager, Handler handler) {
+        this.sensorManager = sensorManager;
+        this.handler = handler;
+    }
+
+    public static synchronized SensorHub getInstance(Context context) {
+        if (instance == null) {
+            HandlerThread thread = new HandlerThread(TAG, Process.THREAD_PRIORITY_BACKGROUND);
+            thread.start();
+            instance = new SensorHub((SensorManager) context.getApplicationContext().getSystemService(Context.SENSOR_SERVICE),
+                    new Handler(thread.getLooper()));
+        }
+        return instance;
+    }
+
+    /**
+     * Adds the listener to the sensor or changes what it asked for if it is already listening
+     *
+     * @param samplingPeriodUs   in microseconds or one of the SensorManager.SENSOR_DELAY_ constants
+     * @param maxReportLatencyUs how long the events may wait in the sensor hub's FIFO
+     * @return whether the sensor is registered
+     */
+    public synchronized Boolean registerListener(SensorEventListener listener, Sensor sensor, int samplingPeriodUs, int maxReportLatencyUs) {
+        Channel channel = channels.get(sensor.getType());
+        if (channel == null) {
+            channel = new Channel(sensor);
+            channels.put(sensor.getType(), channel);
+        }
+        channel.subscribe(listener, toMicroseconds(samplingPeriodUs), maxReportLatencyUs);
+        return channel.isRegistered;
+    }
+
+    /**
+     * Removes the listener from every sensor it listens to
+     */
+    public synchronized void unregisterListener(SensorEventListener listener) {
+        for (Channel channel : channels.values()) {
+            channel.unsubscribe(listener);
+        }
+    }
+
+    /**
+     * Asks for the batched events of the sensors the listener listens to. The listener is told
+     * when they were delivered if it is a SensorEventListener2
+     */
+    public synchronized Boolean flush(SensorEventListener listener) {
+        boolean isFlushing = false;
+        for (Channel channel : channels.values()) {
+            isFlushing |= channel.flush(listener);
+        }
+        return isFlushing;
+    }
+
+    /**
+     * How many listeners share the sensor type
+     */
+    public synchronized int getListenerCount(int sensorType) {
+        Channel channel = channels.get(sensorType);
+        return channel == null ? 0 : channel.subscriptions.size();
+    }
+
+    /**
+     * The sampling period in microseconds the sensor type is registered with, -1 if it is not
+     */
+    public synchronized int getRegisteredSamplingPeriodUs(int sensorType) {
+        Channel channel = channels.get(sensorType);
+        return channel == null || !channel.isRegistered ? -1 : channel.registeredSamplingPeriodUs;
+    }
+
+    /**
+     * The thread the listeners are called on, for work that belongs with them
+     */
+    public Handler getHandler() {
+        return handler;
+    }
+
+    /**
+     * The same periods SensorManager uses for its delay constants
+     */
+    private static int toMicroseconds(int samplingPeriodUs) {
+        switch (samplingPeriodUs) {
+            case SensorManager.SENSOR_DELAY_FASTEST:
+                return 0;
+            case SensorManager.SENSOR_DELAY_GAME:
+                return 20000;
+            case SensorManager.SENSOR_DELAY_UI:
+                return 66667;
+            case SensorManager.SENSOR_DELAY_NORMAL:
+                return 200000;
+            default:
+                return samplingPeriodUs;
+        }
+    }
+
+    private static class Subscription {
+        final SensorEventListener listener;
+        int samplingPeriodUs;
+        int maxReportLatencyUs;
+        boolean hasDelivered = false;
+        long lastTimestampNs;
+        boolean isFlushPending = false;
+        volatile boolean isActive = true;
+
+        Subscription(SensorEventListener listener) {
+            this.listener = listener;
+        }
+
+        /**
+         * Whether the listener is due an event at the timestamp
+         */
+        boolean isDue(long timestampNs) {
+            if (hasDelivered && timestampNs - lastTimestampNs < samplingPeriodUs * 1000L * RATE_TOLERANCE) {
+                return false;
+            }
+            hasDelivered = true;
+            lastTimestampNs = timestampNs;
+            return true;
+        }
+    }
+
+    /**
+     * The single registration of a sensor and its listeners. The subscriptions are changed under
+     * the lock of the hub, the callbacks come on the hub's thread
+     */
+    private class Channel implements SensorEventListener2 {
+        final Sensor sensor;
+        final ArrayList<Subscription> subscriptions = new ArrayList<>();
+        /**
+         * A copy of the subscriptions for the dispatch, listeners may leave while it runs.
+         * Only used on the hub's thread
+         */
+        private Subscription[] dispatching = new Subscription[0];
+        /**
+         * The values as the sensor delivered them, every listener gets them unchanged even if
+         * the one before filtered them in place
+         */
+        private float[] values = new float[0];
+        boolean isRegistered = false;
+        int registeredSamplingPeriodUs;
+        int registeredMaxReportLatencyUs;
+        boolean isFlushPending = false;
+
+        Channel(Sensor sensor) {
+            this.sensor = sensor;
+        }
+
+        void subscribe(SensorEventListener listener, int samplingPeriodUs, int maxReportLatencyUs) {
+            Subscription subscription = find(listener);
+            if (subscription == null) {
+                subscription = new Subscription(listener);
+                subscriptions.add(subscription);
+            }
+            subscription.samplingPeriodUs = samplingPeriodUs;
+            subscription.maxReportLatencyUs = maxReportLatencyUs;
+            updateRegistration();
+        }
+
+        void unsubscribe(SensorEventListener listener) {
+            Subscription subscription = find(listener);
+            if (subscription == null) {
+                return;
+            }
+            subscription.isActive = false;
+            subscriptions.remove(subscription);
+            updateRegistration();
+        }
+
+        boolean flush(SensorEventListener listener) {
+            Subscription subscription = find(listener);
+            if (subscription == null || !isRegistered) {
+                return false;
+            }
+            if (!isFlushPending) {
+                isFlushPending = sensorManager.flush(this);
+            }
+            subscription.isFlushPending = isFlushPending;
+            return isFlushPending;
+        }
+
+        private Subscription find(SensorEventListener listener) {
+            for (int i = 0; i < subscriptions.size(); i++) {
+                if (subscriptions.get(i).listener == listener) {
+                    return subscriptions.get(i);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Registers at what the listeners ask for together, again only if that changed
+         */
+        private void updateRegistration() {
+            if (subscriptions.isEmpty()) {
+                if (isRegistered) {
+                    sensorManager.unregisterListener(this);
+                    isRegistered = false;
+                    isFlushPending = false;
+                    Log.d(TAG, "Released " + sensor.getStringType());
+                }
+                return;
+            }
+            int samplingPeriodUs = Integer.MAX_VALUE;
+            int maxReportLatencyUs = Integer.MAX_VALUE;
+            for (int i = 0; i < subscriptions.size(); i++) {
+                samplingPeriodUs = Math.min(samplingPeriodUs, subscriptions.get(i).samplingPeriodUs);
+                maxReportLatencyUs = Math.min(maxReportLatencyUs, subscriptions.get(i).maxReportLatencyUs);
+            }
+            if (isRegistered
+                    && samplingPeriodUs == registeredSamplingPeriodUs
+                    && maxReportLatencyUs == registeredMaxReportLatencyUs) {
+                return;
+            }
+            boolean wasFlushPending = isFlushPending;
+            if (isRegistered) {
+                sensorManager.unregisterListener(this);
+            }
+            isRegistered = sensorManager.registerListener(this, sensor, samplingPeriodUs, maxReportLatencyUs, handler);
+            registeredSamplingPeriodUs = samplingPeriodUs;
+            registeredMaxReportLatencyUs = maxReportLatencyUs;
+            Log.d(TAG, "Registered " + sensor.getStringType() + " every " + samplingPeriodUs + "us for "
+                    + subscriptions.size() + " listeners");
+            // The flush went with the old registration, nothing is left waiting in the FIFO
+            if (wasFlushPending) {
+                handler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        onFlushCompleted(sensor);
+                    }
+                });
+            }
+        }
+
+        private int copySubscriptions() {
+            synchronized (SensorHub.this) {
+                int count = subscriptions.size();
+                if (dispatching.length < count) {
+                    dispatching = new Subscription[count];
+                }
+                for (int i = 0; i < count; i++) {
+                    dispatching[i] = subscriptions.get(i);
+                }
+                return count;
+            }
+        }
+
+        @Override
+        public void onSensorChanged(SensorEvent event) {
+            if (values.length != event.values.length) {
+                values = new float[event.values.length];
+            }
+            System.arraycopy(event.values, 0, values, 0, values.length);
+            int count = copySubscriptions();
+            boolean isChanged = false;
+            for (int i = 0; i < count; i++) {
+                Subscription subscription = dispatching[i];
+                dispatching[i] = null;
+                if (!subscription.isActive || !subscription.isDue(event.timestamp)) {
+                    continue;
+                }
+                if (isChanged) {
+                    System.arraycopy(values, 0, event.values, 0, values.length);
+                }
+                subscription.listener.onSensorChanged(event);
+                isChanged = true;
+            }
+        }
+
+        @Override
+        public void onFlushCompleted(Sensor sensor) {
+            int count = 0;
+            synchronized (SensorHub.this) {
+                isFlushPending = false;
+                if (dispatching.length < subscriptions.size()) {
+                    dispatching = new Subscription[subscriptions.size()];
+                }
+                for (int i = 0; i < subscriptions.size(); i++) {
+                    Subscription subscription = subscriptions.get(i);
+                    if (subscription.isFlushPending) {
+                        subscription.isFlushPending = false;
+                        dispatching[count++] = subscription;
+                    }
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                Subscription subscription = dispatching[i];
+                dispatching[i] = null;
+                if (subscription.isActive && subscription.listener instanceof SensorEventListener2) {
+                    ((SensorEventListener2) subscription.listener).onFlushCompleted(sensor);
+                }
+            }
+        }
+
+        @Override
+        public void onAccuracyChanged(Sensor sensor, int accuracy) {
+            int count = copySubscriptions();
+            for (int i = 0; i < count; i++) {
+                Subscription subscription = dispatching[i];
+                dispatching[i] = null;
+                if (subscription.isActive) {
+                    subscription.listener.onAccuracyChanged(sensor, accuracy);
+                }
+            }
+        }
+    }
+}
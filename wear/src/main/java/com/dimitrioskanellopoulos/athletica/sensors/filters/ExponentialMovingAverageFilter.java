@@ -0,0 +1,38 @@
+package com.dimitrioskanellopoulos.athletica.sensors.filters;
+
+import com.dimitrioskanellopoulos.athletica.sensors.interfaces.SensorFilterInterface;
+
+/**
+ * Smooths every axis with an exponential moving average
+ */
+public class ExponentialMovingAverageFilter implements SensorFilterInterface {
+    private final float alpha;
+    private final float[] averages = new float[MAX_AXES];
+    private boolean hasAverage = false;
+
+    /**
+     * @param alpha the weight of a new value, from 0 (never moves) to 1 (no smoothing)
+     */
+    public ExponentialMovingAverageFilter(float alpha) {
+        this.alpha = alpha;
+    }
+
+    @Override
+    public Boolean filter(float[] values, long timestampNs) {
+        for (int axis = 0; axis < Math.min(values.length, MAX_AXES); axis++) {
+            if (hasAverage) {
+                averages[axis] += alpha * (values[axis] - averages[axis]);
+            } else {
+                averages[axis] = values[axis];
+            }
+            values[axis] = averages[axis];
+        }
+        hasAverage = true;
+        return true;
+    }
+
+    @Override
+    public void reset() {
+        hasAverage = false;
+    }
+}
@@ -0,0 +1,32 @@
+package com.dimitrioskanellopoulos.athletica.sensors.filters;
+
+import com.dimitrioskanellopoulos.athletica.sensors.interfaces.SensorFilterInterface;
+
+/**
+ * Runs the values through the stages in order. An event dropped by a stage does not reach the
+ * stages after it
+ */
+public class FilterPipeline implements SensorFilterInterface {
+    private final SensorFilterInterface[] stages;
+
+    public FilterPipeline(SensorFilterInterface... stages) {
+        this.stages = stages;
+    }
+
+    @Override
+    public Boolean filter(float[] values, long timestampNs) {
+        for (SensorFilterInterface stage : stages) {
+            if (!stage.filter(values, timestampNs)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void reset() {
+        for (SensorFilterInterface stage : stages) {
+            stage.reset();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.dimitrioskanellopoulos.athletica.sensors.filters;
+
+import com.dimitrioskanellopoulos.athletica.sensors.interfaces.SensorFilterInterface;
+
+/**
+ * A scalar Kalman filter for every axis, for values that hold steady or drift slowly (pressure,
+ * temperature) and whose readings are noisy
+ */
+public class KalmanFilter implements SensorFilterInterface {
+    private final float processNoise;
+    private final float measurementNoise;
+    private final float[] estimates = new float[MAX_AXES];
+    private final float[] errors = new float[MAX_AXES];
+    private boolean hasEstimate = false;
+
+    /**
+     * @param processNoise     how much the true value is expected to move between readings
+     * @param measurementNoise how much the readings scatter around the true value (variance)
+     */
+    public KalmanFilter(float processNoise, float measurementNoise) {
+        this.processNoise = processNoise;
+        this.measurementNoise = measurementNoise;
+    }
+
+    @Override
+    public Boolean filter(float[] values, long timestampNs) {
+        for (int axis = 0; axis < Math.min(values.length, MAX_AXES); axis++) {
+            if (!hasEstimate) {
+                estimates[axis] = values[axis];
+                errors[axis] = measurementNoise;
+                continue;
+            }
+            float error = errors[axis] + processNoise;
+            float gain = error / (error + measurementNoise);
+            estimates[axis] += gain * (values[axis] - estimates[axis]);
+            errors[axis] = (1f - gain) * error;
+            values[axis] = estimates[axis];
+        }
+        hasEstimate = true;
+        return true;
+    }
+
+    @Override
+    public void reset() {
+        hasEstimate = false;
+    }
+}
@@ -0,0 +1,56 @@
+package com.dimitrioskanellopoulos.athletica.sensors.filters;
+
+import com.dimitrioskanellopoulos.athletica.sensors.interfaces.SensorFilterInterface;
+
+/**
+ * Replaces every value with the median of the last ones of its axis, which removes single spikes
+ * without smearing steps
+ */
+public class MedianFilter implements SensorFilterInterface {
+    private final int size;
+    /**
+     * Value i of axis a is at [a * size + i]
+     */
+    private final float[] window;
+    private final float[] sorted;
+    private int count = 0;
+    private int head = 0;
+
+    public MedianFilter(int size) {
+        this.size = size;
+        window = new float[size * MAX_AXES];
+        sorted = new float[size];
+    }
+
+    @Override
+    public Boolean filter(float[] values, long timestampNs) {
+        if (count < size) {
+            count++;
+        }
+        for (int axis = 0; axis < Math.min(values.length, MAX_AXES); axis++) {
+            int start = axis * size;
+            window[start + head] = values[axis];
+            // Insertion sort, the windows are a handful of values
+            for (int i = 0; i < count; i++) {
+                float value = window[start + i];
+                int j = i - 1;
+                while (j >= 0 && sorted[j] > value) {
+                    sorted[j + 1] = sorted[j];
+                    j--;
+                }
+                sorted[j + 1] = value;
+            }
+            values[axis] = count % 2 == 1
+                    ? sorted[count / 2]
+                    : (sorted[count / 2 - 1] + sorted[count / 2]) * 0.5f;
+        }
+        head = (head + 1) % size;
+        return true;
+    }
+
+    @Override
+    public void reset() {
+        count = 0;
+        head = 0;
+    }
+}
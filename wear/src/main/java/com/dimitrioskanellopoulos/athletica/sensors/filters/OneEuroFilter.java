@@ -0,0 +1,69 @@
+package com.dimitrioskanellopoulos.athletica.sensors.filters;
+
+import com.dimitrioskanellopoulos.athletica.sensors.interfaces.SensorFilterInterface;
+
+/**
+ * The 1€ filter (Casiez et al.). A low pass filter whose cutoff rises with the speed of the
+ * signal, so it is smooth while the values rest and follows them closely when they move
+ */
+public class OneEuroFilter implements SensorFilterInterface {
+    /**
+     * Events with the same or an older timestamp are treated as this far apart
+     */
+    private static final float MIN_INTERVAL_S = 0.001f;
+
+    private final float minCutoffHz;
+    private final float beta;
+    private final float derivativeCutoffHz;
+    private final float[] previousValues = new float[MAX_AXES];
+    private final float[] previousDerivatives = new float[MAX_AXES];
+    private boolean hasPrevious = false;
+    private long previousTimestampNs;
+
+    /**
+     * @param minCutoffHz        the cutoff while the signal rests, lower is smoother
+     * @param beta               how much the cutoff rises with the speed, higher lags less
+     * @param derivativeCutoffHz the cutoff for the speed itself
+     */
+    public OneEuroFilter(float minCutoffHz, float beta, float derivativeCutoffHz) {
+        this.minCutoffHz = minCutoffHz;
+        this.beta = beta;
+        this.derivativeCutoffHz = derivativeCutoffHz;
+    }
+
+    @Override
+    public Boolean filter(float[] values, long timestampNs) {
+        int axes = Math.min(values.length, MAX_AXES);
+        if (!hasPrevious) {
+            for (int axis = 0; axis < axes; axis++) {
+                previousValues[axis] = values[axis];
+                previousDerivatives[axis] = 0f;
+            }
+            previousTimestampNs = timestampNs;
+            hasPrevious = true;
+            return true;
+        }
+
+        float intervalS = Math.max((timestampNs - previousTimestampNs) / 1e9f, MIN_INTERVAL_S);
+        previousTimestampNs = timestampNs;
+        float derivativeAlpha = getAlpha(derivativeCutoffHz, intervalS);
+        for (int axis = 0; axis < axes; axis++) {
+            float derivative = (values[axis] - previousValues[axis]) / intervalS;
+            previousDerivatives[axis] += derivativeAlpha * (derivative - previousDerivatives[axis]);
+            float cutoffHz = minCutoffHz + beta * Math.abs(previousDerivatives[axis]);
+            previousValues[axis] += getAlpha(cutoffHz, intervalS) * (values[axis] - previousValues[axis]);
+            values[axis] = previousValues[axis];
+        }
+        return true;
+    }
+
+    private static float getAlpha(float cutoffHz, float intervalS) {
+        float timeConstantS = 1f / (2f * (float) Math.PI * cutoffHz);
+        return 1f / (1f + timeConstantS / intervalS);
+    }
+
+    @Override
+    public void reset() {
+        hasPrevious = false;
+    }
+}
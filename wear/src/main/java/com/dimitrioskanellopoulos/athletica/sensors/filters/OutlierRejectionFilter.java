@@ -0,0 +1,67 @@
+package com.dimitrioskanellopoulos.athletica.sensors.filters;
+
+import com.dimitrioskanellopoulos.athletica.sensors.SampleRingBuffer;
+import com.dimitrioskanellopoulos.athletica.sensors.interfaces.SensorFilterInterface;
+
+/**
+ * Drops values that are not numbers or are too far from the mean of the recently accepted ones.
+ * If as many values in a row as the window holds are dropped the signal really moved, so the
+ * window starts over from the current value
+ */
+public class OutlierRejectionFilter implements SensorFilterInterface {
+    /**
+     * Values are only judged once the window has this many
+     */
+    private static final int MIN_SAMPLES = 3;
+
+    private final SampleRingBuffer accepted;
+    private final float maxDeviations;
+    private final float minDeviation;
+    private int rejectedInARow = 0;
+
+    /**
+     * @param maxDeviations how many standard deviations from the mean a value may be
+     * @param minDeviation  the deviation allowed whatever the standard deviation, so a steady
+     *                      signal is not frozen
+     */
+    public OutlierRejectionFilter(int windowSize, float maxDeviations, float minDeviation) {
+        accepted = new SampleRingBuffer(windowSize, MAX_AXES);
+        this.maxDeviations = maxDeviations;
+        this.minDeviation = minDeviation;
+    }
+
+    @Override
+    public Boolean filter(float[] values, long timestampNs) {
+        int axes = Math.min(values.length, MAX_AXES);
+        for (int axis = 0; axis < axes; axis++) {
+            if (Float.isNaN(values[axis]) || Float.isInfinite(values[axis])) {
+                return false;
+            }
+        }
+        if (accepted.getCount() >= MIN_SAMPLES && isOutlier(values, axes)) {
+            if (++rejectedInARow < accepted.getCapacity()) {
+                return false;
+            }
+            accepted.clear();
+        }
+        rejectedInARow = 0;
+        accepted.add(values);
+        return true;
+    }
+
+    private boolean isOutlier(float[] values, int axes) {
+        for (int axis = 0; axis < Math.min(axes, accepted.getAxes()); axis++) {
+            float allowed = Math.max(maxDeviations * accepted.getStandardDeviation(axis), minDeviation);
+            if (Math.abs(values[axis] - accepted.getMean(axis)) > allowed) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void reset() {
+        accepted.clear();
+        rejectedInARow = 0;
+    }
+}
@@ -1,5 +1,17 @@
 package com.dimitrioskanellopoulos.athletica.sensors.interfaces;
 
-interface FilteredSensorListenerInterface {
+public interface FilteredSensorListenerInterface {
     Boolean isEventValuesAcceptable(float[] eventValues);
+
+    /**
+     * Checks the values are acceptable and runs them through the filters of the sensor, in place
+     *
+     * @return false to drop the event
+     */
+    Boolean filterEventValues(float[] eventValues, long timestampNs);
+
+    /**
+     * Forgets the values the filters have seen, before a new run of values
+     */
+    void resetFilter();
 }
@@ -1,7 +1,14 @@
 package com.dimitrioskanellopoulos.athletica.sensors.interfaces;
 
+import com.dimitrioskanellopoulos.athletica.sensors.SampleRingBuffer;
+
 public interface SensorAverageListenerInterface extends FilteredSensorListenerInterface {
     void getAverage();
 
     Integer getNumberOfSamples();
+
+    /**
+     * The samples of the last average with their statistics (mean, variance, min, max per axis)
+     */
+    SampleRingBuffer getSamples();
 }
@@ -0,0 +1,25 @@
+package com.dimitrioskanellopoulos.athletica.sensors.interfaces;
+
+/**
+ * A stage of the filter pipeline of a sensor. It works on the values of the event in place
+ */
+public interface SensorFilterInterface {
+    /**
+     * The axes filters keep state for, enough for the motion sensors. Any further values are left
+     * as they are
+     */
+    int MAX_AXES = 3;
+
+    /**
+     * Filters the values in place
+     *
+     * @param timestampNs the event's timestamp in nanoseconds
+     * @return false to drop the event
+     */
+    Boolean filter(float[] values, long timestampNs);
+
+    /**
+     * Forgets the previous values, for example when the sensor starts again after a pause
+     */
+    void reset();
+}
@@ -4,4 +4,23 @@ public interface SensorListenerInterface extends FilteredSensorListenerInterface
     void startListening();
 
     void stopListening();
+
+    /**
+     * Whether the sensor hub has a FIFO to batch the events of the sensor in
+     */
+    Boolean canBatch();
+
+    Boolean isBatching();
+
+    /**
+     * Keeps the sensor on with a long report latency so its events wait in the sensor hub's FIFO
+     * instead of waking the app processor. The next {@link #startListening()} flushes them first.
+     * Sensors that cannot batch stop listening
+     */
+    void startBatching();
+
+    /**
+     * Asks the sensor hub to deliver the events batched so far
+     */
+    void flush();
 }
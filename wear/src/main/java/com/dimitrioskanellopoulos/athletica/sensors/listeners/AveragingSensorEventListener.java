@@ -3,58 +3,86 @@ package com.dimitrioskanellopoulos.athletica.sensors.listeners;
 import android.hardware.Sensor;
 import android.hardware.SensorEvent;
 import android.hardware.SensorEventListener;
-import android.util.Log;
 
-import com.dimitrioskanellopoulos.athletica.sensors.AveragingCallbackSensor;
+import com.dimitrioskanellopoulos.athletica.sensors.SampleRingBuffer;
 import com.dimitrioskanellopoulos.athletica.sensors.interfaces.OnSensorAverageEventCallbackInterface;
+import com.dimitrioskanellopoulos.athletica.sensors.interfaces.SensorAverageListenerInterface;
 
-import java.util.ArrayList;
-import java.util.List;
-
+/**
+ * Collects a number of samples of every axis and reports their averages once. The samples and
+ * their statistics stay available until the next {@link #reset()}
+ */
 public class AveragingSensorEventListener implements SensorEventListener {
     protected final static String TAG = AveragingSensorEventListener.class.getName();
-    private final AveragingCallbackSensor sensor;
-    private final Integer numberOfSamples;
-    private List<Float> averageValues = new ArrayList<>();
+    /**
+     * Enough for the three axes of the motion sensors
+     */
+    private final static int MAX_AXES = 3;
+    private final SensorAverageListenerInterface sensor;
+    private final SampleRingBuffer samples;
+    /**
+     * Indexed by the number of axes - 1, the callbacks get arrays as long as the event's
+     */
+    private final float[][] averageValues = new float[MAX_AXES][];
+    private boolean isComplete = false;
     private OnSensorAverageEventCallbackInterface changeCallback;
 
-    public AveragingSensorEventListener(Integer numberOfSamples, AveragingCallbackSensor sensor, OnSensorAverageEventCallbackInterface changeCallback) {
+    public AveragingSensorEventListener(Integer numberOfSamples, SensorAverageListenerInterface sensor, OnSensorAverageEventCallbackInterface changeCallback) {
         this.sensor = sensor;
         this.changeCallback = changeCallback;
-        this.numberOfSamples = numberOfSamples;
+        samples = new SampleRingBuffer(numberOfSamples, MAX_AXES);
+        for (int axes = 1; axes <= MAX_AXES; axes++) {
+            averageValues[axes - 1] = new float[axes];
+        }
+    }
+
+    /**
+     * Starts collecting a new average. The filters of the sensor start over too, the values they
+     * saw last might be from minutes ago
+     */
+    public void reset() {
+        synchronized (sensor) {
+            samples.clear();
+            isComplete = false;
+            sensor.resetFilter();
+        }
+    }
+
+    /**
+     * Whether the average was reported and no new one was started since. Read it holding the lock
+     * of the sensor
+     */
+    public boolean isComplete() {
+        return isComplete;
     }
 
+    public SampleRingBuffer getSamples() {
+        return samples;
+    }
+
+    /**
+     * Called on the thread of the sensor hub, the sensor is locked against its controls while the
+     * sample is taken. The average is reported with the lock released
+     */
     @Override
     public void onSensorChanged(SensorEvent event) {
-        if (!sensor.isEventValuesAcceptable(event.values)) {
-            return;
-        }
-        // If there is space to add this event
-        if (averageValues.size() < numberOfSamples) {
-            averageValues.add(event.values[0]);
-            Log.d(TAG, "Value [" + event.values[0] + "], Collected Values [" + averageValues.size() + "]");
-        }
-        // If it's not complete yet do nothing
-        if (averageValues.size() < numberOfSamples) {
-            return;
-        }
-        // Here it's full get the avg
-        Float sum = 0.0f;
-        Integer i = 0;
-        for (Float value : averageValues) {
-            sum += value;
-            i++;
-        }
+        float[] values;
+        synchronized (sensor) {
+            // A batch might deliver more events than needed
+            if (isComplete || !sensor.filterEventValues(event.values, event.timestamp)) {
+                return;
+            }
+            samples.add(event.values);
+            if (!samples.isFull()) {
+                return;
+            }
+            isComplete = true;
 
-        Float average = 0.0f;
-        if (sum > 0 && i > 0) {
-            average = sum / i;
+            // Report the averages in an array of their own so the event is not modified
+            values = averageValues[samples.getAxes() - 1];
+            samples.getMeans(values);
         }
-
-        Log.d(TAG, "Total sum[" + sum + "], Average[" + average + "]");
-        averageValues.clear();
-        event.values[0] = average;
-        changeCallback.handleOnSensorAverageChangedEvent(event.sensor, event.sensor.getType(), event.values);
+        changeCallback.handleOnSensorAverageChangedEvent(event.sensor, event.sensor.getType(), values);
     }
 
     @Override
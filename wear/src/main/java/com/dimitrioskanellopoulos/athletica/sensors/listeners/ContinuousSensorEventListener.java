@@ -2,22 +2,36 @@ package com.dimitrioskanellopoulos.athletica.sensors.listeners;
 
 import android.hardware.Sensor;
 import android.hardware.SensorEvent;
-import android.hardware.SensorEventListener;
+import android.hardware.SensorEventListener2;
 
-import com.dimitrioskanellopoulos.athletica.sensors.interfaces.OnSensorEventCallbackInterface;
+import com.dimitrioskanellopoulos.athletica.sensors.CallbackSensor;
 
-public class ContinuousSensorEventListener implements SensorEventListener {
+public class ContinuousSensorEventListener implements SensorEventListener2 {
     protected final static String TAG = AveragingSensorEventListener.class.getName();
 
-    private OnSensorEventCallbackInterface changeCallback;
+    private final CallbackSensor sensor;
 
-    public ContinuousSensorEventListener(OnSensorEventCallbackInterface changeCallback) {
-        this.changeCallback = changeCallback;
+    public ContinuousSensorEventListener(CallbackSensor sensor) {
+        this.sensor = sensor;
     }
 
+    /**
+     * Called on the thread of the sensor hub, the sensor is locked so it cannot stop or reset its
+     * filter between the two
+     */
     @Override
     public void onSensorChanged(SensorEvent event) {
-        changeCallback.handleOnSensorChangedEvent(event.sensor, event.sensor.getType(), event.values);
+        synchronized (sensor) {
+            if (!sensor.filterEventValues(event.values, event.timestamp)) {
+                return;
+            }
+            sensor.queueEventValues(event.values);
+        }
+    }
+
+    @Override
+    public void onFlushCompleted(Sensor sensor) {
+        this.sensor.handleOnFlushCompleted();
     }
 
     @Override
@@ -0,0 +1,87 @@
+package com.dimitrioskanellopoulos.athletica;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks the bucket edges, the missed deadlines and the percentiles of the frame statistics
+ */
+public class FrameStatisticsTest {
+    private static final long MS = 1000000L;
+    private static final int INTERACTIVE = FrameStatistics.MODE_INTERACTIVE;
+    private static final int AMBIENT = FrameStatistics.MODE_AMBIENT;
+
+    private FrameStatistics frameStatistics;
+
+    @Before
+    public void setUp() {
+        frameStatistics = new FrameStatistics(1000);
+    }
+
+    @Test
+    public void countsFramesJustOverALimitInTheNextBucket() {
+        long[] limits = FrameStatistics.getBucketLimitsMs();
+        int bucket16 = indexOf(limits, 16);
+        int bucket33 = indexOf(limits, 33);
+
+        frameStatistics.recordDraw(AMBIENT, 0, 16 * MS, 0);
+        frameStatistics.recordDraw(AMBIENT, 0, 16 * MS + 900000, 0);
+        frameStatistics.recordDraw(AMBIENT, 0, 33 * MS + 900000, 0);
+        frameStatistics.recordDraw(AMBIENT, 0, 2000 * MS, 0);
+
+        long[] counts = frameStatistics.getBucketCounts(AMBIENT);
+        assertEquals(1, counts[bucket16]);
+        assertEquals(1, counts[bucket33]);
+        assertEquals(1, counts[bucket33 + 1]);
+        assertEquals(1, counts[limits.length]);
+    }
+
+    @Test
+    public void countsTheSkippedSecondsAsMissedDeadlines() {
+        frameStatistics.recordDraw(INTERACTIVE, 0, MS, 10000);
+        frameStatistics.recordDraw(INTERACTIVE, 0, MS, 11000);
+        frameStatistics.recordDraw(INTERACTIVE, 0, MS, 14500);
+        assertEquals(2, frameStatistics.getMissedDeadlines());
+
+        // Ambient frames are not due every second
+        frameStatistics.recordDraw(AMBIENT, 0, MS, 30000);
+        assertEquals(2, frameStatistics.getMissedDeadlines());
+    }
+
+    @Test
+    public void doesNotCountThePauseAfterARestart() {
+        frameStatistics.recordDraw(INTERACTIVE, 0, MS, 10000);
+        frameStatistics.restartInteractiveSequence();
+        frameStatistics.recordDraw(INTERACTIVE, 0, MS, 60000);
+        frameStatistics.recordDraw(INTERACTIVE, 0, MS, 61000);
+        assertEquals(0, frameStatistics.getMissedDeadlines());
+    }
+
+    @Test
+    public void findsTheBucketOfThePercentile() {
+        for (int frame = 0; frame < 9; frame++) {
+            frameStatistics.recordDraw(INTERACTIVE, 0, 5 * MS, 0);
+        }
+        frameStatistics.recordDraw(INTERACTIVE, 0, 40 * MS, 0);
+
+        assertEquals(8, frameStatistics.getPercentileDrawMs(INTERACTIVE, 50));
+        assertEquals(8, frameStatistics.getPercentileDrawMs(INTERACTIVE, 90));
+        assertEquals(66, frameStatistics.getPercentileDrawMs(INTERACTIVE, 99));
+    }
+
+    @Test
+    public void hasNoPercentileWithoutFrames() {
+        assertEquals(-1, frameStatistics.getPercentileDrawMs(AMBIENT, 50));
+    }
+
+    private static int indexOf(long[] limits, long limit) {
+        for (int i = 0; i < limits.length; i++) {
+            if (limits[i] == limit) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("No bucket for " + limit);
+    }
+}
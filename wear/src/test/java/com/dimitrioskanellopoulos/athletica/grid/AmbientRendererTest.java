@@ -0,0 +1,127 @@
+package com.dimitrioskanellopoulos.athletica.grid;
+
+import android.content.ContextWrapper;
+import android.graphics.Rect;
+
+import com.dimitrioskanellopoulos.athletica.grid.columns.Column;
+import com.dimitrioskanellopoulos.athletica.grid.interfaces.TimeSourceInterface;
+import com.dimitrioskanellopoulos.athletica.grid.rows.Row;
+import com.dimitrioskanellopoulos.athletica.grid.targets.RecordingRenderTarget;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the ambient frame is rendered once and then only drawn until something changes
+ */
+public class AmbientRendererTest {
+    private static final int FACE_SIZE = 320;
+    private static final long MINUTE_MS = 60000;
+
+    private Grid grid;
+    private Column dateColumn;
+    private AmbientRenderer ambientRenderer;
+    private RecordingRenderTarget target;
+    private Rect bounds;
+    private long timeMs = 0;
+
+    @Before
+    public void setUp() {
+        grid = new Grid();
+        Row dateRow = new Row();
+        dateColumn = new Column(new ContextWrapper(null), grid.getStyleRegistry(), null, 20f);
+        dateColumn.setText("18.10.2026");
+        dateRow.putColumn("dateColumn", dateColumn);
+        grid.putRow("2_dateRow", dateRow);
+        grid.setInAmbientMode(true);
+
+        ambientRenderer = new AmbientRenderer(new TimeSourceInterface() {
+            @Override
+            public long currentTimeMillis() {
+                return timeMs;
+            }
+        });
+        target = new RecordingRenderTarget(FACE_SIZE, FACE_SIZE);
+        bounds = new Rect();
+        bounds.right = FACE_SIZE;
+        bounds.bottom = FACE_SIZE;
+    }
+
+    @Test
+    public void rendersTheFrameOnceAndThenOnlyDrawsIt() {
+        for (int tick = 0; tick < 3; tick++) {
+            target.reset();
+            drawFrame();
+            assertEquals(0, target.getTextCount());
+            assertEquals(1, target.getLayerCount());
+        }
+        assertEquals(1, ambientRenderer.getRenderCount());
+        assertEquals(1, target.getLayers().size());
+    }
+
+    @Test
+    public void rendersTheFrameAgainWhenTheContentChanges() {
+        drawFrame();
+        dateColumn.setText("19.10.2026");
+        drawFrame();
+        drawFrame();
+        assertEquals(2, ambientRenderer.getRenderCount());
+    }
+
+    @Test
+    public void rendersTheFrameAgainWhenTheBackgroundChanges() {
+        grid.setSecondaryBackgroundColor(0xFF262626);
+        drawFrame();
+        // Ambient mode drops the split background
+        grid.setSecondaryBackgroundColor(null);
+        drawFrame();
+        drawFrame();
+        assertEquals(2, ambientRenderer.getRenderCount());
+    }
+
+    @Test
+    public void rendersTheFrameAgainAfterRelease() {
+        drawFrame();
+        ambientRenderer.release();
+        drawFrame();
+        assertEquals(2, ambientRenderer.getRenderCount());
+        assertEquals(2, target.getLayers().size());
+    }
+
+    @Test
+    public void burnInProtectionMovesTheFrameWithoutRenderingIt() {
+        ambientRenderer.setBurnInProtection(true);
+        timeMs = 3 * MINUTE_MS + 30000;
+        drawFrame();
+        int[] position = AmbientRenderer.getOrbitPosition(timeMs);
+        assertEquals(position[0], target.getLastLayerLeft(), 0f);
+        assertEquals(position[1], target.getLastLayerTop(), 0f);
+
+        timeMs += MINUTE_MS;
+        drawFrame();
+        int[] nextPosition = AmbientRenderer.getOrbitPosition(timeMs);
+        assertTrue(position != nextPosition);
+        assertEquals(nextPosition[0], target.getLastLayerLeft(), 0f);
+        assertEquals(nextPosition[1], target.getLastLayerTop(), 0f);
+        assertEquals(1, ambientRenderer.getRenderCount());
+    }
+
+    @Test
+    public void orbitMovesOneStepPerMinute() {
+        for (long minute = 0; minute < 20; minute++) {
+            int[] position = AmbientRenderer.getOrbitPosition(minute * MINUTE_MS);
+            int[] next = AmbientRenderer.getOrbitPosition((minute + 1) * MINUTE_MS);
+            assertTrue(position == AmbientRenderer.getOrbitPosition(minute * MINUTE_MS + MINUTE_MS - 1));
+            assertTrue(position != next);
+            assertTrue(Math.abs(position[0] - next[0]) <= 2);
+            assertTrue(Math.abs(position[1] - next[1]) <= 2);
+        }
+    }
+
+    private void drawFrame() {
+        ambientRenderer.render(target, bounds, grid, FACE_SIZE / 2.0f, 0f);
+    }
+}
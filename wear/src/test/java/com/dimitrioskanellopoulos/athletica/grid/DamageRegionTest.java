@@ -0,0 +1,62 @@
+package com.dimitrioskanellopoulos.athletica.grid;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the damage arithmetic the layered mode repaints the static layer with
+ */
+public class DamageRegionTest {
+    private DamageRegion damageRegion;
+
+    @Before
+    public void setUp() {
+        damageRegion = new DamageRegion();
+    }
+
+    @Test
+    public void coversTheAreasOfItsUnion() {
+        damageRegion.union(0, 100, 320, 140);
+        damageRegion.union(0, 180, 320, 200);
+
+        assertEquals(0, damageRegion.getLeft());
+        assertEquals(100, damageRegion.getTop());
+        assertEquals(320, damageRegion.getRight());
+        assertEquals(200, damageRegion.getBottom());
+    }
+
+    @Test
+    public void ignoresEmptyAreas() {
+        // A row that was never drawn has no area yet
+        damageRegion.union(0, 0, 0, 0);
+        assertTrue(damageRegion.isEmpty());
+
+        damageRegion.union(0, 100, 320, 140);
+        damageRegion.union(0, 0, 0, 0);
+        assertEquals(100, damageRegion.getTop());
+    }
+
+    @Test
+    public void intersectsOnlyOverlappingAreas() {
+        damageRegion.union(0, 100, 320, 140);
+
+        assertTrue(damageRegion.intersects(0, 130, 320, 160));
+        assertTrue(damageRegion.intersects(0, 110, 320, 120));
+        // Rows that only touch the damage keep their pixels
+        assertFalse(damageRegion.intersects(0, 140, 320, 160));
+        assertFalse(damageRegion.intersects(0, 60, 320, 100));
+    }
+
+    @Test
+    public void emptyRegionIntersectsNothing() {
+        damageRegion.union(0, 100, 320, 140);
+        damageRegion.setEmpty();
+
+        assertTrue(damageRegion.isEmpty());
+        assertFalse(damageRegion.intersects(0, 0, 320, 320));
+    }
+}
@@ -0,0 +1,123 @@
+package com.dimitrioskanellopoulos.athletica.grid;
+
+import android.content.ContextWrapper;
+import android.graphics.Rect;
+
+import com.dimitrioskanellopoulos.athletica.grid.columns.Column;
+import com.dimitrioskanellopoulos.athletica.grid.rows.Row;
+import com.dimitrioskanellopoulos.athletica.grid.targets.RecordingRenderTarget;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Renders a grid into a recording target on the JVM and checks how many draw calls it takes.
+ * Rect is a stub here, the repainting of damaged areas is tested on a device by
+ * GridRendererDamageTest
+ */
+public class GridRendererTest {
+    private static final int FACE_SIZE = 320;
+
+    private Grid grid;
+    private GridRenderer gridRenderer;
+    private RecordingRenderTarget target;
+    private Rect bounds;
+
+    @Before
+    public void setUp() {
+        grid = new Grid();
+        Row timeRow = createRow("12:34:56", "PM");
+        timeRow.setIsDynamic(true);
+        grid.putRow("1_timeRow", timeRow);
+        grid.putRow("2_dateRow", createRow("18.10.2026"));
+        grid.putRow("6_batteryRow", createRow("", "99%"));
+
+        gridRenderer = new GridRenderer();
+        target = new RecordingRenderTarget(FACE_SIZE, FACE_SIZE);
+        bounds = new Rect();
+        bounds.right = FACE_SIZE;
+        bounds.bottom = FACE_SIZE;
+    }
+
+    @Test
+    public void anotherGridDoesNotChangeTheLook() {
+        int version = grid.getVersion();
+        new Grid().setInAmbientMode(true);
+        assertFalse(grid.getStyleRegistry().isInAmbientMode());
+        assertEquals(version, grid.getVersion());
+    }
+
+    @Test
+    public void directModeDrawsEveryColumnOnEveryFrame() {
+        gridRenderer.setMode(GridRenderer.MODE_DIRECT);
+        for (int frame = 0; frame < 3; frame++) {
+            target.reset();
+            drawFrame();
+            assertEquals(5, target.getTextCount());
+            assertEquals(0, target.getLayerCount());
+        }
+    }
+
+    @Test
+    public void layeredModeDrawsStaticRowsOnce() {
+        gridRenderer.setMode(GridRenderer.MODE_LAYERED);
+        drawFrame();
+        assertEquals(1, target.getLayers().size());
+        RecordingRenderTarget staticLayer = target.getLayers().get(0);
+        assertEquals(3, staticLayer.getTextCount());
+        assertEquals(2, target.getTextCount());
+
+        target.reset();
+        drawFrame();
+        assertEquals(0, staticLayer.getTextCount());
+        assertEquals(2, target.getTextCount());
+        assertEquals(1, target.getLayerCount());
+        assertEquals(1, target.getLayers().size());
+    }
+
+    @Test
+    public void layeredModeRedrawsTheLayerWhenTheStructureChanges() {
+        gridRenderer.setMode(GridRenderer.MODE_LAYERED);
+        drawFrame();
+        RecordingRenderTarget staticLayer = target.getLayers().get(0);
+
+        target.reset();
+        grid.getRow("2_dateRow").putColumn("weekColumn", createColumn("W42"));
+        drawFrame();
+        assertEquals(4, staticLayer.getTextCount());
+    }
+
+    @Test
+    public void layeredModeRedrawsTheLayerWhenTheColorsChange() {
+        gridRenderer.setMode(GridRenderer.MODE_LAYERED);
+        drawFrame();
+        RecordingRenderTarget staticLayer = target.getLayers().get(0);
+
+        target.reset();
+        grid.invertColors();
+        drawFrame();
+        assertEquals(3, staticLayer.getTextCount());
+        assertEquals(2, target.getTextCount());
+    }
+
+    private void drawFrame() {
+        gridRenderer.renderGrid(target, bounds, grid, FACE_SIZE / 2.0f, 0f);
+    }
+
+    private Row createRow(String... texts) {
+        Row row = new Row();
+        for (String text : texts) {
+            row.putColumn(text, createColumn(text));
+        }
+        return row;
+    }
+
+    private Column createColumn(String text) {
+        Column column = new Column(new ContextWrapper(null), grid.getStyleRegistry(), null, 20f);
+        column.setText(text);
+        return column;
+    }
+}
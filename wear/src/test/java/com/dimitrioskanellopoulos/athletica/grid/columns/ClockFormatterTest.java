@@ -0,0 +1,89 @@
+package com.dimitrioskanellopoulos.athletica.grid.columns;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the formatted time against the patterns the time column used to format with
+ */
+public class ClockFormatterTest {
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+    private static final TimeZone ATHENS = TimeZone.getTimeZone("Europe/Athens");
+    /**
+     * 2026-10-18 13:04:59 UTC
+     */
+    private static final long TIME_MS = 1792328699000L;
+
+    private ClockFormatter clockFormatter;
+
+    @Before
+    public void setUp() {
+        clockFormatter = new ClockFormatter();
+    }
+
+    @Test
+    public void formatsAllTheVariants() {
+        clockFormatter.setFormat(true, true);
+        assertFormats("13:04:59", TIME_MS, UTC);
+        clockFormatter.setFormat(true, false);
+        assertFormats("13:04", TIME_MS, UTC);
+        clockFormatter.setFormat(false, true);
+        assertFormats("1:04:59", TIME_MS, UTC);
+        assertFalse(clockFormatter.isAm());
+        clockFormatter.setFormat(false, false);
+        assertFormats("1:04", TIME_MS, UTC);
+    }
+
+    @Test
+    public void formatsMidnightAndNoonLikeTheHourPatterns() {
+        long midnight = TIME_MS - (13 * 3600 + 4 * 60 + 59) * 1000L;
+        clockFormatter.setFormat(true, false);
+        assertFormats("24:00", midnight, UTC);
+        clockFormatter.setFormat(false, false);
+        assertFormats("12:00", midnight, UTC);
+        assertTrue(clockFormatter.isAm());
+        assertFormats("12:00", midnight + 12 * 3600 * 1000L, UTC);
+        assertFalse(clockFormatter.isAm());
+    }
+
+    @Test
+    public void rollsTheSecondsAndTheMinutesOver() {
+        clockFormatter.setFormat(true, true);
+        assertFormats("13:04:58", TIME_MS - 1000, UTC);
+        assertFormats("13:04:59", TIME_MS, UTC);
+        assertFormats("13:05:00", TIME_MS + 1000, UTC);
+        assertFormats("13:05:01", TIME_MS + 2000, UTC);
+        assertFormats("9:59:59", TIME_MS - (3 * 3600 + 5 * 60) * 1000L, UTC);
+    }
+
+    @Test
+    public void formattingTheSameSecondChangesNothing() {
+        clockFormatter.format(TIME_MS, UTC);
+        int version = clockFormatter.getVersion();
+        clockFormatter.format(TIME_MS + 999, UTC);
+        assertEquals(version, clockFormatter.getVersion());
+    }
+
+    @Test
+    public void followsTheZoneAndItsTransitions() {
+        clockFormatter.setFormat(true, false);
+        assertFormats("16:04", TIME_MS, ATHENS);
+        // Summer time ends at 01:00 UTC on the 25th of October 2026
+        long transition = 1792890000000L;
+        assertFormats("3:59", transition - 60000, ATHENS);
+        assertFormats("3:00", transition, ATHENS);
+        assertFormats("13:04", TIME_MS, UTC);
+    }
+
+    private void assertFormats(String expected, long timeMs, TimeZone timeZone) {
+        clockFormatter.format(timeMs, timeZone);
+        assertEquals(expected, new String(clockFormatter.getBuffer(), 0, clockFormatter.getLength()));
+        assertEquals(expected, clockFormatter.toString());
+    }
+}
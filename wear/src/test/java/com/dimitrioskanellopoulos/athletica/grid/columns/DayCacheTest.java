@@ -0,0 +1,68 @@
+package com.dimitrioskanellopoulos.athletica.grid.columns;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that the day rolls over at the local midnight and only then
+ */
+public class DayCacheTest {
+    /**
+     * 2026-10-25 00:00 in Athens, the day summer time ends
+     */
+    private static final long LONG_DAY_START_MS = 1792875600000L;
+    private static final long HOUR_IN_MS = 3600000L;
+
+    private DayCache dayCache;
+
+    @Before
+    public void setUp() {
+        dayCache = new DayCache();
+        dayCache.setTimeZone(TimeZone.getTimeZone("Europe/Athens"));
+    }
+
+    @Test
+    public void keepsTheDayUntilTheNextMidnight() {
+        dayCache.update(LONG_DAY_START_MS + 10 * HOUR_IN_MS);
+        int generation = dayCache.getGeneration();
+        assertEquals(LONG_DAY_START_MS, dayCache.getDayStartMs());
+        assertEquals(25, dayCache.getCalendar().get(Calendar.DAY_OF_MONTH));
+
+        dayCache.update(LONG_DAY_START_MS);
+        dayCache.update(LONG_DAY_START_MS + 24 * HOUR_IN_MS);
+        assertEquals(generation, dayCache.getGeneration());
+
+        dayCache.update(LONG_DAY_START_MS + 25 * HOUR_IN_MS);
+        assertEquals(generation + 1, dayCache.getGeneration());
+        assertEquals(26, dayCache.getCalendar().get(Calendar.DAY_OF_MONTH));
+    }
+
+    @Test
+    public void precomputesTheRolloverOfDaysThatAreNot24HoursLong() {
+        dayCache.update(LONG_DAY_START_MS);
+        assertEquals(LONG_DAY_START_MS + 25 * HOUR_IN_MS, dayCache.getNextDayStartMs());
+    }
+
+    @Test
+    public void startsTheDayAgainWhenInvalidatedOrTheZoneChanges() {
+        dayCache.update(LONG_DAY_START_MS);
+        int generation = dayCache.getGeneration();
+        dayCache.invalidate();
+        dayCache.update(LONG_DAY_START_MS);
+        assertEquals(generation + 1, dayCache.getGeneration());
+
+        dayCache.setTimeZone(TimeZone.getTimeZone("Europe/Athens"));
+        dayCache.update(LONG_DAY_START_MS);
+        assertEquals(generation + 1, dayCache.getGeneration());
+
+        dayCache.setTimeZone(TimeZone.getTimeZone("UTC"));
+        dayCache.update(LONG_DAY_START_MS);
+        assertEquals(generation + 2, dayCache.getGeneration());
+        assertEquals(24, dayCache.getCalendar().get(Calendar.DAY_OF_MONTH));
+    }
+}
@@ -0,0 +1,71 @@
+package com.dimitrioskanellopoulos.athletica.grid.columns;
+
+import android.graphics.Paint;
+
+import com.dimitrioskanellopoulos.athletica.grid.styles.StyleRegistry;
+import com.dimitrioskanellopoulos.athletica.grid.targets.RecordingRenderTarget;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that toggling ambient mode blits the icons from the atlases built before instead of
+ * rasterizing them again
+ */
+public class IconGlyphCacheTest {
+    private static final String[] ICONS = {"a", "b"};
+
+    private StyleRegistry styleRegistry;
+    private IconGlyphCache iconGlyphCache;
+    private RecordingRenderTarget target;
+    private Paint paint;
+
+    @Before
+    public void setUp() {
+        styleRegistry = new StyleRegistry();
+        iconGlyphCache = new IconGlyphCache(ICONS);
+        target = new RecordingRenderTarget(320, 320);
+        paint = new Paint();
+    }
+
+    @Test
+    public void togglingAmbientModeDoesNotRebuild() {
+        // Ambient gets the outlines, interactive is filled
+        styleRegistry.setBurnInProtection(true);
+        for (int toggle = 0; toggle < 3; toggle++) {
+            styleRegistry.setAmbientMode(false);
+            drawIcon(ICONS[0]);
+            styleRegistry.setAmbientMode(true);
+            drawIcon(ICONS[1]);
+        }
+        assertEquals(2, iconGlyphCache.getBuildCount());
+        assertEquals(6, target.getBitmapCount());
+    }
+
+    @Test
+    public void keepsALowBitAtlasOfItsOwn() {
+        styleRegistry.setBurnInProtection(true);
+        styleRegistry.shouldAntialiasInAmbientMode(true);
+        styleRegistry.setAmbientMode(true);
+        drawIcon(ICONS[0]);
+        styleRegistry.setLowBitAmbient(true);
+        drawIcon(ICONS[0]);
+        styleRegistry.setLowBitAmbient(false);
+        drawIcon(ICONS[0]);
+        assertEquals(2, iconGlyphCache.getBuildCount());
+    }
+
+    @Test
+    public void buildsAgainAfterRelease() {
+        drawIcon(ICONS[0]);
+        iconGlyphCache.release();
+        drawIcon(ICONS[0]);
+        assertEquals(2, iconGlyphCache.getBuildCount());
+    }
+
+    private void drawIcon(String icon) {
+        iconGlyphCache.drawIcon(target, icon, 0f, 0f, paint, styleRegistry);
+    }
+}
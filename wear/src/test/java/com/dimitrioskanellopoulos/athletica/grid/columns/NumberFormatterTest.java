@@ -0,0 +1,67 @@
+package com.dimitrioskanellopoulos.athletica.grid.columns;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.text.DecimalFormatSymbols;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks the formatted numbers against what the DecimalFormat and String.format patterns gave
+ */
+public class NumberFormatterTest {
+    private static final char SEPARATOR = DecimalFormatSymbols.getInstance().getDecimalSeparator();
+
+    private NumberFormatter numberFormatter;
+
+    @Before
+    public void setUp() {
+        numberFormatter = new NumberFormatter();
+    }
+
+    @Test
+    public void formatsIntegers() {
+        assertEquals("0", numberFormatter.formatInteger(0));
+        assertEquals("72", numberFormatter.formatInteger(72));
+        assertEquals("-15", numberFormatter.formatInteger(-15));
+        assertEquals(String.valueOf(Long.MIN_VALUE), numberFormatter.formatInteger(Long.MIN_VALUE));
+    }
+
+    @Test
+    public void formatsDecimalsWithoutTrailingZeros() {
+        assertEquals("1013" + SEPARATOR + "2", numberFormatter.formatDecimal(1013.24f, 1));
+        assertEquals("1013", numberFormatter.formatDecimal(1013.02, 1));
+        assertEquals("1" + SEPARATOR + "5", numberFormatter.formatDecimal(1.50, 2));
+        assertEquals("-0" + SEPARATOR + "5", numberFormatter.formatDecimal(-0.5, 1));
+        assertEquals("0", numberFormatter.formatDecimal(-0.01, 1));
+    }
+
+    @Test
+    public void formatsPercentAndSuffixes() {
+        assertEquals("87%", numberFormatter.formatPercent(87f));
+        assertEquals("100%", numberFormatter.formatPercent(100f));
+        assertEquals("999", numberFormatter.formatWithSuffix(999));
+        assertEquals("1" + SEPARATOR + "0k", numberFormatter.formatWithSuffix(1000));
+        assertEquals("1" + SEPARATOR + "8k", numberFormatter.formatWithSuffix(1801));
+        assertEquals("12" + SEPARATOR + "3M", numberFormatter.formatWithSuffix(12345678));
+    }
+
+    @Test
+    public void composesSeveralValues() {
+        String text = numberFormatter.begin()
+                .appendInteger(-1).append('.')
+                .appendInteger(9).append('.')
+                .appendInteger(0)
+                .toText();
+        assertEquals("-1.9.0", text);
+    }
+
+    @Test
+    public void returnsTheSameStringUntilTheValueChanges() {
+        String text = numberFormatter.formatPercent(87f);
+        assertSame(text, numberFormatter.formatPercent(87.2f));
+        assertEquals("88%", numberFormatter.formatPercent(88f));
+    }
+}
@@ -0,0 +1,107 @@
+package com.dimitrioskanellopoulos.athletica.grid.styles;
+
+import android.graphics.Color;
+import android.graphics.Paint;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks that styles and their paints are shared and that switching looks reuses them
+ */
+public class StyleRegistryTest {
+    private StyleRegistry styleRegistry;
+
+    @Before
+    public void setUp() {
+        styleRegistry = new StyleRegistry();
+    }
+
+    @Test
+    public void sharesEqualStyles() {
+        ColumnStyle style = styleRegistry.getStyle(null, 20f, "tnum", null);
+        assertSame(style, styleRegistry.getStyle(null, 20f, "tnum", null));
+        assertNotSame(style, styleRegistry.getStyle(null, 20f, null, null));
+        assertNotSame(style, styleRegistry.getStyle(null, 20f, "tnum", Color.RED));
+    }
+
+    @Test
+    public void reusesThePaintsWhenSwitchingBack() {
+        ColumnStyle style = styleRegistry.getStyle(null, 20f, null, null);
+        Paint interactivePaint = styleRegistry.getPaint(style);
+        assertSame(interactivePaint, styleRegistry.getPaint(style));
+
+        styleRegistry.setTextColor(Color.BLACK);
+        Paint blackPaint = styleRegistry.getPaint(style);
+        assertNotSame(interactivePaint, blackPaint);
+
+        styleRegistry.setAmbientMode(true);
+        Paint ambientPaint = styleRegistry.getPaint(style);
+        assertNotSame(blackPaint, ambientPaint);
+
+        styleRegistry.setAmbientMode(false);
+        styleRegistry.setTextColor(Color.WHITE);
+        assertSame(interactivePaint, styleRegistry.getPaint(style));
+        styleRegistry.setTextColor(Color.BLACK);
+        assertSame(blackPaint, styleRegistry.getPaint(style));
+    }
+
+    /**
+     * The mockable Paint keeps no flags, an antialiased ambient paint is the interactive one
+     */
+    @Test
+    public void antialiasesInAmbientModeWhenAskedToUnlessLowBit() {
+        ColumnStyle style = styleRegistry.getStyle(null, 20f, null, null);
+        Paint interactivePaint = styleRegistry.getPaint(style);
+
+        styleRegistry.shouldAntialiasInAmbientMode(true);
+        styleRegistry.setAmbientMode(true);
+        assertSame(interactivePaint, styleRegistry.getPaint(style));
+
+        styleRegistry.setLowBitAmbient(true);
+        assertNotSame(interactivePaint, styleRegistry.getPaint(style));
+
+        styleRegistry.setLowBitAmbient(false);
+        styleRegistry.shouldAntialiasInAmbientMode(false);
+        assertNotSame(interactivePaint, styleRegistry.getPaint(style));
+    }
+
+    @Test
+    public void fixedColorsIgnoreTheTheme() {
+        ColumnStyle style = styleRegistry.getStyle(null, 20f, null, Color.RED);
+        Paint paint = styleRegistry.getPaint(style);
+        styleRegistry.setTextColor(Color.BLACK);
+        assertSame(paint, styleRegistry.getPaint(style));
+    }
+
+    @Test
+    public void onlyAChangedLookChangesTheVersion() {
+        int version = styleRegistry.getVersion();
+        styleRegistry.setTextColor(Color.BLACK);
+        styleRegistry.setAmbientMode(true);
+        styleRegistry.setLowBitAmbient(true);
+        assertEquals(version + 3, styleRegistry.getVersion());
+
+        // Already outlined, but the time gets its thin burn in style
+        styleRegistry.setBurnInProtection(true);
+        assertEquals(version + 4, styleRegistry.getVersion());
+
+        styleRegistry.setAmbientMode(true);
+        styleRegistry.setLowBitAmbient(true);
+        styleRegistry.setTextColor(Color.BLACK);
+        assertEquals(version + 4, styleRegistry.getVersion());
+    }
+
+    @Test
+    public void ambientSettingsDoNotChangeTheInteractiveLook() {
+        int version = styleRegistry.getVersion();
+        styleRegistry.setLowBitAmbient(true);
+        styleRegistry.setBurnInProtection(true);
+        styleRegistry.shouldAntialiasInAmbientMode(true);
+        assertEquals(version, styleRegistry.getVersion());
+    }
+}
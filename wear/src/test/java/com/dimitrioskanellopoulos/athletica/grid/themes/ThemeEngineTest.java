@@ -0,0 +1,113 @@
+package com.dimitrioskanellopoulos.athletica.grid.themes;
+
+import android.graphics.Color;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the palettes of the modes and that day and night switch at the sunrise and sunset
+ */
+public class ThemeEngineTest {
+    private static final long HOUR_MS = 60 * 60 * 1000L;
+    private static final long SUNRISE_MS = 1000 * HOUR_MS + 6 * HOUR_MS;
+    private static final long SUNSET_MS = 1000 * HOUR_MS + 20 * HOUR_MS;
+
+    private ThemeEngine themeEngine;
+
+    @Before
+    public void setUp() {
+        themeEngine = new ThemeEngine();
+    }
+
+    @Test
+    public void picksThePaletteOfTheMode() {
+        assertEquals(Color.BLACK, themeEngine.getPalette().getBackgroundColor());
+        assertEquals(Color.WHITE, themeEngine.getPalette().getTextColor());
+        assertFalse(themeEngine.getPalette().hasTwoColorBackground());
+
+        themeEngine.setInvertBlackAndWhite(true);
+        assertEquals(Color.WHITE, themeEngine.getPalette().getBackgroundColor());
+        assertEquals(Color.BLACK, themeEngine.getPalette().getTextColor());
+
+        themeEngine.setTwoColorBackground(true);
+        assertEquals(Color.WHITE, themeEngine.getPalette().getBackgroundColor());
+        assertTrue(themeEngine.getPalette().hasTwoColorBackground());
+    }
+
+    @Test
+    public void ambientModeGetsTheBlackSingleColorPalette() {
+        themeEngine.setInvertBlackAndWhite(true);
+        themeEngine.setTwoColorBackground(true);
+        Palette palette = themeEngine.getPalette();
+
+        themeEngine.setAmbientMode(true);
+        assertEquals(Color.BLACK, themeEngine.getPalette().getBackgroundColor());
+        assertEquals(Color.WHITE, themeEngine.getPalette().getTextColor());
+        assertFalse(themeEngine.getPalette().hasTwoColorBackground());
+
+        themeEngine.setAmbientMode(false);
+        assertSame(palette, themeEngine.getPalette());
+    }
+
+    @Test
+    public void changesTheVersionOnlyWithThePalette() {
+        int version = themeEngine.getVersion();
+        Palette palette = themeEngine.getPalette();
+
+        themeEngine.setInvertBlackAndWhite(false);
+        themeEngine.setDayNightMode(true);
+        assertEquals(version, themeEngine.getVersion());
+        assertSame(palette, themeEngine.getPalette());
+
+        themeEngine.setInvertBlackAndWhite(true);
+        assertNotEquals(version, themeEngine.getVersion());
+    }
+
+    @Test
+    public void switchesAtSunriseAndSunset() {
+        themeEngine.setDayNightMode(true);
+        themeEngine.setSunriseSunset(SUNRISE_MS, SUNSET_MS);
+
+        themeEngine.update(SUNRISE_MS + HOUR_MS);
+        assertFalse(themeEngine.isNight());
+        assertEquals(SUNSET_MS, themeEngine.getNextTransitionMs());
+        assertEquals(Color.BLACK, themeEngine.getPalette().getBackgroundColor());
+
+        int version = themeEngine.getVersion();
+        themeEngine.update(SUNSET_MS - 1);
+        assertEquals(version, themeEngine.getVersion());
+
+        themeEngine.update(SUNSET_MS);
+        assertTrue(themeEngine.isNight());
+        assertEquals(SUNRISE_MS + 24 * HOUR_MS, themeEngine.getNextTransitionMs());
+        assertEquals(Color.WHITE, themeEngine.getPalette().getBackgroundColor());
+
+        // The next days use the same times
+        themeEngine.update(SUNRISE_MS + 24 * HOUR_MS);
+        assertFalse(themeEngine.isNight());
+        assertEquals(SUNSET_MS + 24 * HOUR_MS, themeEngine.getNextTransitionMs());
+    }
+
+    @Test
+    public void isNightBeforeTheSunrise() {
+        themeEngine.setSunriseSunset(SUNRISE_MS, SUNSET_MS);
+        themeEngine.update(SUNRISE_MS - HOUR_MS);
+        assertTrue(themeEngine.isNight());
+        assertEquals(SUNRISE_MS, themeEngine.getNextTransitionMs());
+    }
+
+    @Test
+    public void staysDayWithoutSunriseAndSunset() {
+        themeEngine.setDayNightMode(true);
+        themeEngine.update(SUNSET_MS);
+        assertFalse(themeEngine.isNight());
+        assertEquals(Long.MAX_VALUE, themeEngine.getNextTransitionMs());
+    }
+}
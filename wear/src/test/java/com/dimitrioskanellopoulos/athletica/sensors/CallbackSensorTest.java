@@ -0,0 +1,160 @@
+package com.dimitrioskanellopoulos.athletica.sensors;
+
+import android.hardware.Sensor;
+import android.hardware.SensorEvent;
+import android.hardware.SensorEventListener;
+import android.os.Handler;
+
+import com.dimitrioskanellopoulos.athletica.sensors.interfaces.OnSensorEventCallbackInterface;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs a sensor through the hub and a sensor manager that lets the test deliver the events and
+ * flushes, and checks how it moves between batching and listening closely. The handler of the hub
+ * does not run anything here, so the test dispatches the batches itself
+ */
+public class CallbackSensorTest {
+    private static final float DELTA = 1e-4f;
+    private static final long SECOND_NS = 1000000000L;
+    private static final int CLOSE_SAMPLING_PERIOD_US = 66667;
+    private static final int BATCH_SAMPLING_PERIOD_US = 1000000;
+    private static final int BATCH_MAX_REPORT_LATENCY_US = 300000000;
+
+    private final Sensor sensor = SensorEvents.createSensor();
+    private FakeSensorManager sensorManager;
+    private SensorHub sensorHub;
+    private CallbackSensor callbackSensor;
+    private int callbackCount = 0;
+    private float lastValue;
+
+    @Before
+    public void setUp() {
+        sensorManager = new FakeSensorManager(sensor);
+        sensorHub = new SensorHub(sensorManager, new Handler());
+        callbackSensor = new CallbackSensor(sensorManager, sensorHub, Sensor.TYPE_PRESSURE, new OnSensorEventCallbackInterface() {
+            @Override
+            public void handleOnSensorChangedEvent(Sensor sensor, Integer sensorType, float[] eventValues) {
+                callbackCount++;
+                lastValue = eventValues[0];
+            }
+        }) {
+            // The stub sensor has no FIFO
+            @Override
+            public Boolean canBatch() {
+                return true;
+            }
+        };
+    }
+
+    @Test
+    public void batchesInTheFifo() {
+        callbackSensor.startBatching();
+        assertTrue(callbackSensor.isBatching());
+        assertEquals(BATCH_SAMPLING_PERIOD_US, sensorManager.samplingPeriodUs);
+        assertEquals(BATCH_MAX_REPORT_LATENCY_US, sensorManager.maxReportLatencyUs);
+    }
+
+    @Test
+    public void listensCloselyOnceTheBatchIsFlushed() {
+        callbackSensor.startBatching();
+        callbackSensor.startListening();
+        assertEquals(1, sensorManager.flushCount);
+        // Still at the batch rate until the flush arrived
+        assertTrue(callbackSensor.isBatching());
+        assertEquals(1, sensorManager.registrationCount);
+
+        sensorManager.completeFlush(sensor);
+        assertFalse(callbackSensor.isBatching());
+        assertEquals(2, sensorManager.registrationCount);
+        assertEquals(CLOSE_SAMPLING_PERIOD_US, sensorManager.samplingPeriodUs);
+    }
+
+    @Test
+    public void asksForOneFlushWhileItIsPending() {
+        callbackSensor.startBatching();
+        callbackSensor.startListening();
+        callbackSensor.startListening();
+        callbackSensor.flush();
+        assertEquals(1, sensorManager.flushCount);
+        assertEquals(1, callbackSensor.getBatchStatistics().getFlushCount());
+    }
+
+    @Test
+    public void listensCloselyAfterAFlushDroppedByARegistration() {
+        callbackSensor.startBatching();
+        callbackSensor.startListening();
+
+        // Another listener asks for a shorter latency, the hub registers again and the flush is gone
+        sensorHub.registerListener(new IgnoringListener(), sensor, BATCH_SAMPLING_PERIOD_US, BATCH_SAMPLING_PERIOD_US);
+        assertEquals(2, sensorManager.registrationCount);
+        // The completion the hub posts for it
+        sensorManager.completeFlush(sensor);
+
+        assertFalse(callbackSensor.isBatching());
+        assertEquals(CLOSE_SAMPLING_PERIOD_US, sensorManager.samplingPeriodUs);
+    }
+
+    @Test
+    public void ignoresAFlushCompletedAfterStop() {
+        callbackSensor.startBatching();
+        callbackSensor.startListening();
+        callbackSensor.stopListening();
+
+        callbackSensor.handleOnFlushCompleted();
+        assertFalse(sensorManager.isRegistered());
+    }
+
+    @Test
+    public void dispatchesTheNewestValuesOfADeliveryOnce() {
+        callbackSensor.startBatching();
+        for (int event = 1; event <= 3; event++) {
+            sensorManager.sendEvent(sensor, event * SECOND_NS, event);
+        }
+        assertEquals(0, callbackCount);
+
+        callbackSensor.dispatchBatch();
+        callbackSensor.dispatchBatch();
+        assertEquals(1, callbackCount);
+        assertEquals(3f, lastValue, DELTA);
+        assertEquals(1, callbackSensor.getBatchStatistics().getDeliveryCount());
+        assertEquals(3, callbackSensor.getBatchStatistics().getEventCount());
+    }
+
+    @Test
+    public void dropsTheQueuedBatchOnStop() {
+        callbackSensor.startListening();
+        sensorManager.sendEvent(sensor, SECOND_NS, 1f);
+        sensorManager.sendEvent(sensor, 2 * SECOND_NS, 2f);
+        callbackSensor.stopListening();
+        callbackSensor.dispatchBatch();
+        assertEquals(0, callbackCount);
+
+        // An event the hub was still delivering
+        callbackSensor.queueEventValues(new float[]{3f});
+        callbackSensor.dispatchBatch();
+        assertEquals(0, callbackCount);
+
+        callbackSensor.startListening();
+        sensorManager.sendEvent(sensor, 3 * SECOND_NS, 4f);
+        callbackSensor.dispatchBatch();
+        assertEquals(1, callbackCount);
+        assertEquals(4f, lastValue, DELTA);
+        assertEquals(1, callbackSensor.getBatchStatistics().getEventCount());
+    }
+
+    private static class IgnoringListener implements SensorEventListener {
+        @Override
+        public void onSensorChanged(SensorEvent event) {
+        }
+
+        @Override
+        public void onAccuracyChanged(Sensor sensor, int accuracy) {
+        }
+    }
+}
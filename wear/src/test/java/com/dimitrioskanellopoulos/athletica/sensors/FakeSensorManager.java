@@ -0,0 +1,114 @@
+package com.dimitrioskanellopoulos.athletica.sensors;
+
+import android.hardware.Sensor;
+import android.hardware.SensorEventListener;
+import android.hardware.SensorEventListener2;
+import android.hardware.SensorManager;
+import android.hardware.TriggerEventListener;
+import android.os.Handler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Takes a single registration, like the hub makes for a sensor, and lets the tests deliver the
+ * events and flushes to it
+ */
+class FakeSensorManager extends SensorManager {
+    SensorEventListener listener;
+    int samplingPeriodUs;
+    int maxReportLatencyUs;
+    int registrationCount = 0;
+    int flushCount = 0;
+    private final Sensor defaultSensor;
+
+    FakeSensorManager(Sensor defaultSensor) {
+        this.defaultSensor = defaultSensor;
+    }
+
+    boolean isRegistered() {
+        return listener != null;
+    }
+
+    void sendEvent(Sensor sensor, long timestampNs, float... values) {
+        listener.onSensorChanged(SensorEvents.createEvent(sensor, timestampNs, values));
+    }
+
+    void completeFlush(Sensor sensor) {
+        ((SensorEventListener2) listener).onFlushCompleted(sensor);
+    }
+
+    @Override
+    public Sensor getDefaultSensor(int type) {
+        return defaultSensor;
+    }
+
+    @Override
+    public boolean registerListener(SensorEventListener listener, Sensor sensor, int samplingPeriodUs, int maxReportLatencyUs, Handler handler) {
+        assertNull(this.listener);
+        this.listener = listener;
+        this.samplingPeriodUs = samplingPeriodUs;
+        this.maxReportLatencyUs = maxReportLatencyUs;
+        registrationCount++;
+        return true;
+    }
+
+    @Override
+    public void unregisterListener(SensorEventListener listener) {
+        assertSame(this.listener, listener);
+        this.listener = null;
+    }
+
+    @Override
+    public boolean flush(SensorEventListener listener) {
+        assertSame(this.listener, listener);
+        flushCount++;
+        return true;
+    }
+
+    // The implementation of the platform, the methods above do not get to it
+
+    protected List<Sensor> getFullSensorList() {
+        return new ArrayList<>();
+    }
+
+    protected List<Sensor> getFullDynamicSensorList() {
+        return new ArrayList<>();
+    }
+
+    protected void unregisterListenerImpl(SensorEventListener listener, Sensor sensor) {
+    }
+
+    protected boolean registerListenerImpl(SensorEventListener listener, Sensor sensor, int delayUs, Handler handler, int maxReportLatencyUs, int reservedFlags) {
+        return false;
+    }
+
+    protected boolean flushImpl(SensorEventListener listener) {
+        return false;
+    }
+
+    protected void registerDynamicSensorCallbackImpl(DynamicSensorCallback callback, Handler handler) {
+    }
+
+    protected void unregisterDynamicSensorCallbackImpl(DynamicSensorCallback callback) {
+    }
+
+    protected boolean requestTriggerSensorImpl(TriggerEventListener listener, Sensor sensor) {
+        return false;
+    }
+
+    protected boolean cancelTriggerSensorImpl(TriggerEventListener listener, Sensor sensor, boolean disable) {
+        return false;
+    }
+
+    protected boolean initDataInjectionImpl(boolean enable) {
+        return false;
+    }
+
+    protected boolean injectSensorDataImpl(Sensor sensor, float[] values, int accuracy, long timestamp) {
+        return false;
+    }
+}
@@ -0,0 +1,31 @@
+package com.dimitrioskanellopoulos.athletica.sensors;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Checks that every publication is seen as new, even of an equal value
+ */
+public class LatestValueTest {
+    @Test
+    public void startsEmpty() {
+        LatestValue<String> latestValue = new LatestValue<>();
+        assertNull(latestValue.get());
+        assertEquals(0, latestValue.getSequence());
+    }
+
+    @Test
+    public void changesTheSequenceWithEveryPublication() {
+        LatestValue<String> latestValue = new LatestValue<>();
+        latestValue.publish("72");
+        int sequence = latestValue.getSequence();
+        assertEquals("72", latestValue.get());
+
+        latestValue.publish("72");
+        assertNotEquals(sequence, latestValue.getSequence());
+        assertEquals("72", latestValue.get());
+    }
+}
@@ -0,0 +1,77 @@
+package com.dimitrioskanellopoulos.athletica.sensors;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the running statistics against the samples kept, including negative values and eviction
+ */
+public class SampleRingBufferTest {
+    private static final float DELTA = 1e-4f;
+
+    private SampleRingBuffer samples;
+
+    @Before
+    public void setUp() {
+        samples = new SampleRingBuffer(4, 3);
+    }
+
+    @Test
+    public void averagesNegativeValues() {
+        samples.add(new float[]{-2f});
+        samples.add(new float[]{-4f});
+        assertEquals(1, samples.getAxes());
+        assertEquals(-6f, samples.getSum(0), DELTA);
+        assertEquals(-3f, samples.getMean(0), DELTA);
+        assertEquals(1f, samples.getVariance(0), DELTA);
+        assertEquals(-4f, samples.getMin(0), DELTA);
+        assertEquals(-2f, samples.getMax(0), DELTA);
+    }
+
+    @Test
+    public void keepsEveryAxis() {
+        samples.add(new float[]{1f, 10f, -1f});
+        samples.add(new float[]{3f, 20f, -3f});
+        float[] means = new float[3];
+        samples.getMeans(means);
+        assertEquals(2f, means[0], DELTA);
+        assertEquals(15f, means[1], DELTA);
+        assertEquals(-2f, means[2], DELTA);
+        assertEquals(-3f, samples.getLatest(2), DELTA);
+    }
+
+    @Test
+    public void evictsTheOldestSample() {
+        for (int i = 1; i <= 4; i++) {
+            samples.add(new float[]{i});
+        }
+        assertTrue(samples.isFull());
+        samples.add(new float[]{9f});
+        samples.add(new float[]{10f});
+
+        // 3, 4, 9, 10
+        assertEquals(4, samples.getCount());
+        assertEquals(26f, samples.getSum(0), DELTA);
+        assertEquals(6.5f, samples.getMean(0), DELTA);
+        assertEquals(9.25f, samples.getVariance(0), DELTA);
+        assertEquals(3f, samples.getMin(0), DELTA);
+        assertEquals(10f, samples.getMax(0), DELTA);
+        assertEquals(10f, samples.getLatest(0), DELTA);
+    }
+
+    @Test
+    public void startsOverWhenCleared() {
+        samples.add(new float[]{5f, 5f});
+        samples.clear();
+        assertFalse(samples.isFull());
+        assertEquals(0, samples.getCount());
+        samples.add(new float[]{7f});
+        assertEquals(1, samples.getAxes());
+        assertEquals(7f, samples.getMean(0), DELTA);
+        assertEquals(0f, samples.getVariance(0), DELTA);
+    }
+}
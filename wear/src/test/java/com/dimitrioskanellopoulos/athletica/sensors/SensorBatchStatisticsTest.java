@@ -0,0 +1,69 @@
+package com.dimitrioskanellopoulos.athletica.sensors;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the counts, the batch size buckets and the reset of the batch statistics
+ */
+public class SensorBatchStatisticsTest {
+    private static final float DELTA = 1e-4f;
+
+    private SensorBatchStatistics batchStatistics;
+
+    @Before
+    public void setUp() {
+        batchStatistics = new SensorBatchStatistics();
+    }
+
+    @Test
+    public void countsTheDeliveriesAndTheirEvents() {
+        batchStatistics.recordBatch(1);
+        batchStatistics.recordBatch(3);
+        batchStatistics.recordBatch(300);
+        batchStatistics.recordFlush();
+
+        assertEquals(3, batchStatistics.getDeliveryCount());
+        assertEquals(304, batchStatistics.getEventCount());
+        assertEquals(304f / 3, batchStatistics.getMeanBatchSize(), DELTA);
+        assertEquals(300, batchStatistics.getMaxBatchSize());
+        assertEquals(1, batchStatistics.getFlushCount());
+    }
+
+    @Test
+    public void countsABatchOnALimitInItsBucket() {
+        batchStatistics.recordBatch(2);
+        batchStatistics.recordBatch(3);
+        batchStatistics.recordBatch(257);
+
+        String dump = dump();
+        assertTrue(dump, dump.contains(" <=1=0 <=2=1 <=4=1 "));
+        assertTrue(dump, dump.contains(" <=256=0 >256=1"));
+    }
+
+    @Test
+    public void startsOverOnReset() {
+        batchStatistics.recordBatch(5);
+        batchStatistics.recordFlush();
+        batchStatistics.reset();
+
+        assertEquals(0, batchStatistics.getDeliveryCount());
+        assertEquals(0, batchStatistics.getEventCount());
+        assertEquals(0f, batchStatistics.getMeanBatchSize(), DELTA);
+        assertEquals(0, batchStatistics.getMaxBatchSize());
+        assertEquals(0, batchStatistics.getFlushCount());
+        assertTrue(dump().contains(" <=8=0 "));
+    }
+
+    private String dump() {
+        StringWriter dump = new StringWriter();
+        batchStatistics.dump("", new PrintWriter(dump));
+        return dump.toString();
+    }
+}
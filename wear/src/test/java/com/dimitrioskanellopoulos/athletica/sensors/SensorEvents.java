@@ -0,0 +1,42 @@
+package com.dimitrioskanellopoulos.athletica.sensors;
+
+import android.hardware.Sensor;
+import android.hardware.SensorEvent;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+
+/**
+ * Creates sensors and their events for the JVM tests. The platform only creates them itself,
+ * so their constructors are not public
+ */
+public final class SensorEvents {
+    private SensorEvents() {
+    }
+
+    public static Sensor createSensor() {
+        try {
+            Constructor<Sensor> constructor = Sensor.class.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static SensorEvent createEvent(Sensor sensor, long timestampNs, float... values) {
+        try {
+            Constructor<SensorEvent> constructor = SensorEvent.class.getDeclaredConstructor(int.class);
+            constructor.setAccessible(true);
+            SensorEvent event = constructor.newInstance(values.length);
+            Field valuesField = SensorEvent.class.getField("values");
+            valuesField.setAccessible(true);
+            valuesField.set(event, values.clone());
+            event.sensor = sensor;
+            event.timestamp = timestampNs;
+            return event;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.dimitrioskanellopoulos.athletica.sensors;
+
+import android.hardware.Sensor;
+import android.hardware.SensorEvent;
+import android.hardware.SensorEventListener2;
+import android.hardware.SensorManager;
+import android.os.Handler;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the hub against a sensor manager that records the registration and lets the test deliver
+ * the events and flushes
+ */
+public class SensorHubTest {
+    private static final float DELTA = 1e-4f;
+    private static final long MS = 1000000L;
+
+    private final Sensor sensor = SensorEvents.createSensor();
+    private FakeSensorManager sensorManager;
+    private SensorHub sensorHub;
+    private RecordingListener fast;
+    private RecordingListener slow;
+
+    @Before
+    public void setUp() {
+        sensorManager = new FakeSensorManager(sensor);
+        // Nothing is posted to it unless a flush is pending while the registration changes
+        sensorHub = new SensorHub(sensorManager, new Handler());
+        fast = new RecordingListener();
+        slow = new RecordingListener();
+    }
+
+    @Test
+    public void registersAtTheFastestRateAndShortestLatency() {
+        assertTrue(sensorHub.registerListener(slow, sensor, 1000000, 1000000));
+        assertTrue(sensorHub.registerListener(fast, sensor, 250000, 5000000));
+
+        assertEquals(250000, sensorManager.samplingPeriodUs);
+        assertEquals(1000000, sensorManager.maxReportLatencyUs);
+        assertEquals(250000, sensorHub.getRegisteredSamplingPeriodUs(sensor.getType()));
+        assertEquals(2, sensorHub.getListenerCount(sensor.getType()));
+    }
+
+    @Test
+    public void takesTheDelayConstantsAsTheirPeriods() {
+        sensorHub.registerListener(fast, sensor, SensorManager.SENSOR_DELAY_UI, 0);
+        assertEquals(66667, sensorManager.samplingPeriodUs);
+    }
+
+    @Test
+    public void registersAgainOnlyWhenTheFastestRateChanges() {
+        sensorHub.registerListener(fast, sensor, 250000, 0);
+        assertEquals(1, sensorManager.registrationCount);
+
+        sensorHub.registerListener(slow, sensor, 1000000, 0);
+        assertEquals(1, sensorManager.registrationCount);
+
+        sensorHub.registerListener(slow, sensor, 100000, 0);
+        assertEquals(2, sensorManager.registrationCount);
+        assertEquals(100000, sensorManager.samplingPeriodUs);
+
+        sensorHub.unregisterListener(slow);
+        assertEquals(3, sensorManager.registrationCount);
+        assertEquals(250000, sensorManager.samplingPeriodUs);
+    }
+
+    @Test
+    public void releasesTheSensorWhenTheLastListenerLeaves() {
+        sensorHub.registerListener(fast, sensor, 250000, 0);
+        sensorHub.registerListener(slow, sensor, 1000000, 0);
+
+        sensorHub.unregisterListener(fast);
+        assertTrue(sensorManager.isRegistered());
+
+        sensorHub.unregisterListener(slow);
+        assertFalse(sensorManager.isRegistered());
+        assertEquals(-1, sensorHub.getRegisteredSamplingPeriodUs(sensor.getType()));
+        assertEquals(0, sensorHub.getListenerCount(sensor.getType()));
+    }
+
+    @Test
+    public void decimatesTheEventsForASlowerListener() {
+        sensorHub.registerListener(fast, sensor, 250000, 0);
+        sensorHub.registerListener(slow, sensor, 1000000, 0);
+
+        for (long timestampMs = 0; timestampMs < 5000; timestampMs += 250) {
+            sensorManager.sendEvent(sensor, timestampMs * MS, 70f);
+        }
+
+        assertEquals(20, fast.events.size());
+        assertEquals(5, slow.events.size());
+        assertEquals(4000 * MS, slow.lastTimestampNs);
+    }
+
+    @Test
+    public void givesEveryListenerTheValuesAsDelivered() {
+        RecordingListener filtering = new RecordingListener() {
+            @Override
+            public void onSensorChanged(SensorEvent event) {
+                super.onSensorChanged(event);
+                // Filters work in place
+                event.values[0] = 0f;
+            }
+        };
+        sensorHub.registerListener(filtering, sensor, 250000, 0);
+        sensorHub.registerListener(fast, sensor, 250000, 0);
+
+        sensorManager.sendEvent(sensor, 0, 70f);
+
+        assertEquals(70f, filtering.events.get(0)[0], DELTA);
+        assertEquals(70f, fast.events.get(0)[0], DELTA);
+    }
+
+    @Test
+    public void tellsOnlyTheListenersThatAskedForTheFlush() {
+        sensorHub.registerListener(fast, sensor, 250000, 0);
+        sensorHub.registerListener(slow, sensor, 1000000, 0);
+
+        assertTrue(sensorHub.flush(slow));
+        // The flush of the sensor is shared
+        assertTrue(sensorHub.flush(slow));
+        assertEquals(1, sensorManager.flushCount);
+
+        sensorManager.completeFlush(sensor);
+        assertEquals(0, fast.flushCount);
+        assertEquals(1, slow.flushCount);
+    }
+
+    @Test
+    public void cannotFlushForAListenerThatIsNotRegistered() {
+        assertFalse(sensorHub.flush(fast));
+        assertEquals(0, sensorManager.flushCount);
+    }
+
+    private static class RecordingListener implements SensorEventListener2 {
+        final List<float[]> events = new ArrayList<>();
+        long lastTimestampNs;
+        int flushCount = 0;
+
+        @Override
+        public void onSensorChanged(SensorEvent event) {
+            events.add(event.values.clone());
+            lastTimestampNs = event.timestamp;
+        }
+
+        @Override
+        public void onAccuracyChanged(Sensor sensor, int accuracy) {
+        }
+
+        @Override
+        public void onFlushCompleted(Sensor sensor) {
+            flushCount++;
+        }
+    }
+}
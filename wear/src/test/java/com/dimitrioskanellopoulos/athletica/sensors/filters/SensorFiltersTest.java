@@ -0,0 +1,97 @@
+package com.dimitrioskanellopoulos.athletica.sensors.filters;
+
+import com.dimitrioskanellopoulos.athletica.sensors.interfaces.SensorFilterInterface;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks each filter on short series and that the pipeline stops at a dropped value
+ */
+public class SensorFiltersTest {
+    private static final float DELTA = 1e-4f;
+    private static final long INTERVAL_NS = 100000000L;
+
+    @Test
+    public void medianRemovesASpike() {
+        MedianFilter filter = new MedianFilter(3);
+        assertEquals(70f, filter(filter, 70f), DELTA);
+        assertEquals(71f, filter(filter, 72f), DELTA);
+        assertEquals(72f, filter(filter, 180f), DELTA);
+        assertEquals(73f, filter(filter, 73f), DELTA);
+    }
+
+    @Test
+    public void movingAverageFollowsSlowly() {
+        ExponentialMovingAverageFilter filter = new ExponentialMovingAverageFilter(0.5f);
+        assertEquals(10f, filter(filter, 10f), DELTA);
+        assertEquals(15f, filter(filter, 20f), DELTA);
+        filter.reset();
+        assertEquals(20f, filter(filter, 20f), DELTA);
+    }
+
+    @Test
+    public void kalmanSettlesBetweenNoisyReadings() {
+        KalmanFilter filter = new KalmanFilter(0.001f, 1f);
+        float value = 0f;
+        for (int i = 0; i < 50; i++) {
+            value = filter(filter, i % 2 == 0 ? 1012f : 1014f);
+        }
+        assertEquals(1013f, value, 0.2f);
+    }
+
+    @Test
+    public void oneEuroSmoothsAStep() {
+        OneEuroFilter filter = new OneEuroFilter(1f, 0f, 1f);
+        float[] values = {0f, 0f, 0f};
+        assertTrue(filter.filter(values, 0));
+        values[0] = 10f;
+        filter.filter(values, INTERVAL_NS);
+        assertTrue(values[0] > 0f && values[0] < 10f);
+    }
+
+    @Test
+    public void rejectsOutliersAndNaN() {
+        OutlierRejectionFilter filter = new OutlierRejectionFilter(5, 3f, 5f);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(filter.filter(new float[]{70f + i}, 0));
+        }
+        assertFalse(filter.filter(new float[]{200f}, 0));
+        assertFalse(filter.filter(new float[]{Float.NaN}, 0));
+        assertTrue(filter.filter(new float[]{74f}, 0));
+    }
+
+    @Test
+    public void followsASignalThatReallyMoved() {
+        OutlierRejectionFilter filter = new OutlierRejectionFilter(3, 3f, 1f);
+        for (int i = 0; i < 3; i++) {
+            filter.filter(new float[]{10f}, 0);
+        }
+        assertFalse(filter.filter(new float[]{50f}, 0));
+        assertFalse(filter.filter(new float[]{50f}, 0));
+        assertTrue(filter.filter(new float[]{50f}, 0));
+    }
+
+    @Test
+    public void pipelineStopsAtADroppedValue() {
+        ExponentialMovingAverageFilter average = new ExponentialMovingAverageFilter(0.5f);
+        FilterPipeline pipeline = new FilterPipeline(new OutlierRejectionFilter(5, 3f, 5f), average);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(pipeline.filter(new float[]{10f}, 0));
+        }
+        float[] values = {100f};
+        assertFalse(pipeline.filter(values, 0));
+        values[0] = 12f;
+        assertTrue(pipeline.filter(values, 0));
+        assertEquals(11f, values[0], DELTA);
+    }
+
+    private static float filter(SensorFilterInterface filter, float value) {
+        float[] values = {value};
+        filter.filter(values, 0);
+        return values[0];
+    }
+}
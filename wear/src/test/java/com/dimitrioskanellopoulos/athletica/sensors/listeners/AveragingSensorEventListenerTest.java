@@ -0,0 +1,110 @@
+package com.dimitrioskanellopoulos.athletica.sensors.listeners;
+
+import android.hardware.Sensor;
+
+import com.dimitrioskanellopoulos.athletica.sensors.SampleRingBuffer;
+import com.dimitrioskanellopoulos.athletica.sensors.SensorEvents;
+import com.dimitrioskanellopoulos.athletica.sensors.filters.FilterPipeline;
+import com.dimitrioskanellopoulos.athletica.sensors.filters.MedianFilter;
+import com.dimitrioskanellopoulos.athletica.sensors.filters.OutlierRejectionFilter;
+import com.dimitrioskanellopoulos.athletica.sensors.interfaces.OnSensorAverageEventCallbackInterface;
+import com.dimitrioskanellopoulos.athletica.sensors.interfaces.SensorAverageListenerInterface;
+import com.dimitrioskanellopoulos.athletica.sensors.interfaces.SensorFilterInterface;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that a new average is filtered on its own and not against the values of the last one
+ */
+public class AveragingSensorEventListenerTest {
+    private static final float DELTA = 1e-4f;
+    private static final int NUMBER_OF_SAMPLES = 10;
+    private static final long INTERVAL_NS = 5000000000L;
+
+    private final Sensor sensor = SensorEvents.createSensor();
+    private FilteredSensor filteredSensor;
+    private AveragingSensorEventListener listener;
+    private int averageCount = 0;
+    private float average;
+    private long timestampNs = 0;
+
+    @Before
+    public void setUp() {
+        // The heart rate filters
+        filteredSensor = new FilteredSensor(new FilterPipeline(
+                new OutlierRejectionFilter(10, 3f, 15f),
+                new MedianFilter(5)));
+        listener = new AveragingSensorEventListener(NUMBER_OF_SAMPLES, filteredSensor, new OnSensorAverageEventCallbackInterface() {
+            @Override
+            public void handleOnSensorAverageChangedEvent(Sensor sensor, Integer sensorType, float[] eventValues) {
+                averageCount++;
+                average = eventValues[0];
+            }
+
+            @Override
+            public void handleOnSensorChangedEvent(Sensor sensor, Integer sensorType, float[] eventValues) {
+            }
+        });
+    }
+
+    @Test
+    public void averagesANewLevelWithoutTheOldOne() {
+        listener.reset();
+        sendSamples(70f);
+        assertEquals(1, averageCount);
+        assertEquals(70f, average, DELTA);
+
+        // Minutes later, running
+        listener.reset();
+        sendSamples(120f);
+        assertEquals(2, averageCount);
+        assertEquals(120f, average, DELTA);
+    }
+
+    private void sendSamples(float value) {
+        for (int i = 0; i < NUMBER_OF_SAMPLES; i++) {
+            timestampNs += INTERVAL_NS;
+            listener.onSensorChanged(SensorEvents.createEvent(sensor, timestampNs, value));
+        }
+    }
+
+    private static class FilteredSensor implements SensorAverageListenerInterface {
+        private final SensorFilterInterface filter;
+
+        FilteredSensor(SensorFilterInterface filter) {
+            this.filter = filter;
+        }
+
+        @Override
+        public Boolean isEventValuesAcceptable(float[] eventValues) {
+            return true;
+        }
+
+        @Override
+        public Boolean filterEventValues(float[] eventValues, long timestampNs) {
+            return filter.filter(eventValues, timestampNs);
+        }
+
+        @Override
+        public void resetFilter() {
+            filter.reset();
+        }
+
+        @Override
+        public void getAverage() {
+        }
+
+        @Override
+        public Integer getNumberOfSamples() {
+            return NUMBER_OF_SAMPLES;
+        }
+
+        @Override
+        public SampleRingBuffer getSamples() {
+            return null;
+        }
+    }
+}